@@ -0,0 +1,97 @@
+package sample.start;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BenchmarkLevels provides the game files and levels the benchmarks run on.
+ * The map "sample" is {@code SampleGame.skb}, any number is a square synthetic map of that size.
+ *
+ * @author Shiqi XIN
+ */
+final class BenchmarkLevels {
+
+    private static final String SAMPLEGAME = "/SampleGame.skb";
+
+    /**
+     * The BenchmarkLevels class only has static methods.
+     */
+    private BenchmarkLevels() {
+    }
+
+    /**
+     * This method gets the game file of a map.
+     * @param map {@code String} "sample" or the size of a synthetic map.
+     * @return {@code byte[]} content of the game file.
+     * @throws IOException when the sample game cannot be read.
+     */
+    static byte[] GameFile(String map) throws IOException {
+        if (!"sample".equals(map)) {
+            int size = Integer.parseInt(map);
+            StringBuilder game = new StringBuilder("MapSetName: Synthetic ").append(size).append("\n");
+            game.append("LevelName: Synthetic ").append(size).append("\n");
+            for (String row : Synthetic(size)) {
+                game.append(row).append("\n");
+            }
+            return game.toString().getBytes();
+        }
+
+        try (InputStream input = BenchmarkLevels.class.getResourceAsStream(SAMPLEGAME)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read = input.read(buffer); read > 0; read = input.read(buffer)) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    /**
+     * This method creates a square level surrounded by walls,
+     * with a crate and a diamond next to each other every four cells
+     * and the keeper in the top left corner.
+     * The first row is left free so the keeper can always walk left and right.
+     * @param size {@code int} number of rows and columns, at least 5.
+     * @return {@code List<String>} rows of the level.
+     */
+    static List<String> Synthetic(int size) {
+        List<String> rows = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            StringBuilder line = new StringBuilder(size);
+            for (int col = 0; col < size; col++) {
+                if (row == 0 || col == 0 || row == size - 1 || col == size - 1) {
+                    line.append('W');
+                } else if (row == 1 && col == 1) {
+                    line.append('S');
+                } else if (row % 4 == 2 && col % 4 == 2 && col + 1 < size - 1) {
+                    line.append('C');
+                } else if (row % 4 == 2 && col % 4 == 3) {
+                    line.append('D');
+                } else {
+                    line.append(' ');
+                }
+            }
+            rows.add(line.toString());
+        }
+        return rows;
+    }
+
+    /**
+     * This method finds a direction the keeper can walk to without pushing.
+     * @param level {@code Level} to look at.
+     * @return {@code Direction} to an empty cell next to the keeper.
+     */
+    static Direction FreeDirection(Level level) {
+        Board board = level.GetBoard();
+        for (Direction direction : Direction.values()) {
+            int next = board.Neighbour(level.GetKeeperIndex(), direction.GetIndex());
+            if (next != Board.BLOCKED && (board.GetCell(next) & (Board.WALL | Board.CRATE)) == 0) {
+                return direction;
+            }
+        }
+        throw new IllegalStateException("The keeper cannot move in " + level.getIndex());
+    }
+}
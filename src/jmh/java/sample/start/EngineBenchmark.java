@@ -0,0 +1,158 @@
+package sample.start;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EngineBenchmark measures the hot paths of the {@code GameEngine}:
+ * moving, undoing, resetting, checking completion, building levels, loading game files,
+ * decoding levels from a {@code LevelLibrary} and replaying LURD strings.
+ * Run it with {@code gradle jmh}, which adds the gc profiler for the allocation rate.
+ *
+ * @author Shiqi XIN
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EngineBenchmark {
+
+    private static final int RESETSTEPS = 16;
+
+    @Param({"sample", "64", "256"})
+    public String map;
+
+    private byte[] gameFile;
+    private List<String> rawLevel;
+    private GameEngine gameEngine;
+    private Level level;
+    private Direction forward;
+    private Direction back;
+    private LevelLibrary library;
+    private Replayer replayer;
+    private String lurd;
+
+    /**
+     * This method loads the map once for every benchmark and finds a free direction for the keeper.
+     * It also converts the map to a {@code LevelLibrary}.
+     * @throws IOException when the sample game cannot be read or the library cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        gameFile = BenchmarkLevels.GameFile(map);
+        gameEngine = new GameEngine(new ByteArrayInputStream(gameFile));
+        level = gameEngine.GetCurrentLevel();
+        rawLevel = Arrays.asList(level.SaveLevel().split("\n"));
+        forward = BenchmarkLevels.FreeDirection(level);
+        back = Direction.values()[Board.Opposite(forward.GetIndex())];
+
+        File libraryFile = File.createTempFile("benchmark", ".skbl");
+        libraryFile.deleteOnExit();
+        LevelLibrary.Convert(new ByteArrayInputStream(gameFile), libraryFile);
+        library = new LevelLibrary(libraryFile);
+
+        replayer = new Replayer(new Level("benchmark", 0, rawLevel));
+        StringBuilder steps = new StringBuilder();
+        for (int i = 0; i < RESETSTEPS; i += 2) {
+            steps.append(forward.GetCharSymbol()).append(back.GetCharSymbol());
+        }
+        lurd = steps.toString();
+    }
+
+    /**
+     * This method closes the level library.
+     * @throws IOException when the library cannot be closed.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        library.close();
+    }
+
+    /**
+     * This method moves the keeper one cell and takes the step back.
+     * @return {@code int} result of the undo.
+     */
+    @Benchmark
+    public int moveUndo() {
+        gameEngine.Move(forward);
+        return gameEngine.Undo();
+    }
+
+    /**
+     * This method walks the keeper back and forth and resets the level.
+     * @return {@code int} moves of the level after the reset.
+     */
+    @Benchmark
+    public int moveReset() {
+        for (int i = 0; i < RESETSTEPS; i += 2) {
+            gameEngine.Move(forward);
+            gameEngine.Move(back);
+        }
+        gameEngine.ResetLevel();
+        return gameEngine.GetMovesCountLevel();
+    }
+
+    /**
+     * This method checks whether the level is complete.
+     * @return {@code boolean} result of the check.
+     */
+    @Benchmark
+    public boolean isComplete() {
+        return level.isComplete();
+    }
+
+    /**
+     * This method builds a level from its rows.
+     * @return {@code Level} built.
+     */
+    @Benchmark
+    public Level newLevel() {
+        return new Level("benchmark", 0, rawLevel);
+    }
+
+    /**
+     * This method reads and builds every level of the game file.
+     * @return {@code List<Level>} loaded.
+     */
+    @Benchmark
+    public List<Level> loadGameFile() {
+        return gameEngine.LoadGameFile(new ByteArrayInputStream(gameFile));
+    }
+
+    /**
+     * This method decodes the last level of the map from the memory-mapped library.
+     * @return {@code Level} decoded.
+     */
+    @Benchmark
+    public Level libraryLevel() {
+        return library.GetLevel(library.GetLevelCount() - 1);
+    }
+
+    /**
+     * This method replays a LURD string that walks the keeper back and forth.
+     * @return {@code ReplayResult} of the replay.
+     */
+    @Benchmark
+    public ReplayResult replay() {
+        return replayer.Replay(lurd);
+    }
+}
@@ -6,6 +6,9 @@ import sample.mvc.Controller;
 import sample.mvc.Model;
 import sample.mvc.SubModel;
 import sample.mvc.View;
+import sample.objects.SpriteCache;
+
+import java.io.IOException;
 
 /**
  * This is the Main class of the project.
@@ -29,10 +32,17 @@ public class Main extends Application {
      * The Start method is used to initialize the program.
      * It initialize model, subModel, controller and view.
      * Therefore, the MVC pattern is realized.
+     * The sprites are decoded once here, before any level is drawn.
      * @param primaryStage stage to be showed.
      */
     @Override
     public void start(Stage primaryStage) {
+        try {
+            SpriteCache.Load();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
         Model model = new Model();
         SubModel subModel = new SubModel(model);
         Controller controller = new Controller(model, subModel);
@@ -1,6 +1,6 @@
 package sample.logger;
 
-import sample.start.StartMeUp;
+import sample.start.GameEngine;
 
 import java.io.File;
 import java.io.IOException;
@@ -13,7 +13,7 @@ import java.util.logging.SimpleFormatter;
 
 /**
  * GameLogger records log when bugs or exception happends.
- * Singleton Pattern is used since it only needs one instance by StartMeUp.
+ * Singleton Pattern is used since it only needs one instance by GameEngine.
  *
  * @author Shiqi XIN-modified
  */
@@ -36,7 +36,7 @@ public class GameLogger extends Logger {
         File directory = new File(System.getProperty("user.dir") + "/" + "logs");
         directory.mkdirs();
 
-        FileHandler fh = new FileHandler(directory + "/" + StartMeUp.GAME_NAME + ".log");
+        FileHandler fh = new FileHandler(directory + "/" + GameEngine.GAME_NAME + ".log");
         m_logger.addHandler(fh);
         SimpleFormatter formatter = new SimpleFormatter();
         fh.setFormatter(formatter);
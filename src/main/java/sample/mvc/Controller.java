@@ -53,6 +53,13 @@ public class Controller {
      */
     public void Undo() { subModel.Undo(); }
 
+    /**
+     * This is the method used to call the Redo function in the SubModel.
+     * It receives the request from the View to redo the step
+     * and calls the corresponding method in the SubModel to redo the step.
+     */
+    public void Redo() { subModel.Redo(); }
+
     /**
      * This is the method used to call the ToggleMusic function in the SubModel.
      * It receives the request from the View to play music
@@ -67,6 +74,13 @@ public class Controller {
      */
     public void ToggleDebug() { subModel.ToggleDebug(); }
 
+    /**
+     * This is the method used to call the ToggleRenderer function in the Model.
+     * It receives the request from the View to switch the renderer
+     * and calls the corresponding method in the Model to draw the level on a canvas or a grid.
+     */
+    public void ToggleRenderer() { model.ToggleRenderer(); }
+
     /**
      * This is the method used to call the SetWallColour function in the SubModel.
      * It receives the request from the View to set the wall colour
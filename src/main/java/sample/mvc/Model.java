@@ -2,6 +2,7 @@ package sample.mvc;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.event.EventHandler;
@@ -23,11 +24,21 @@ import javafx.stage.WindowEvent;
 import javafx.util.Duration;
 import sample.objects.GameObject;
 import sample.objects.GraphicObject;
+import sample.objects.LevelCanvas;
+import sample.start.AutosaveJournal;
+import sample.start.GameSave;
+import sample.start.HighScoreBoard;
 import sample.start.Level;
+import sample.start.ScoreStore;
 import sample.start.StartMeUp;
+import sample.start.Viewport;
 
 import java.awt.*;
 import java.io.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Model encapsulates various methods that need to be used in View.
@@ -43,9 +54,15 @@ public class Model {
     private String nickName;
     private StartMeUp gameEngine;
     private GridPane gameGrid;
+    private GraphicObject[] tiles;
+    private LevelCanvas levelCanvas;
+    private boolean isCanvasRenderer = false;
+    private final int VIEWROWS = 16;
+    private final int VIEWCOLUMNS = 24;
+    private final int VIEWMARGIN = 3;
+    private final Viewport viewport = new Viewport(VIEWROWS, VIEWCOLUMNS, VIEWMARGIN);
     private File saveFile;
     private File fileToSave;
-    private String levelFile;
     private boolean isButtonClicked = false;
     private Timeline clock;
     private boolean isClockRun = true;
@@ -60,13 +77,35 @@ public class Model {
     private final int DIALOGRIGHT = 30;
     private final int DIALOGBOTTOM = 30;
     private final int DIALOGLEFT = 30;
+    private final String BINARYSAVE = ".skbs";
+    private final String AUTOSAVEFOLDER = "/autosave";
+    private AutosaveJournal journal;
+    private final int HIGHSCORESHOWN = 10;
+    private final String SCORESTORE = "src/main/resources/highscore_lists/scores.skhs";
+    private final ExecutorService highScoreWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HighScoreWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final CompletableFuture<ScoreStore> scoreStore = CompletableFuture.supplyAsync(this::loadScoreStore, highScoreWriter);
+    private CompletableFuture<Void> highScoreSave = CompletableFuture.completedFuture(null);
 
     /**
      * This is the only constructor of the Model class.
      * It initializes the {@code GridPane gameGrid}.
+     * The high score lists are loaded on {@code highScoreWriter} while the game starts,
+     * and the ones still being written are finished before the game exits.
      */
     public Model() {
         gameGrid = new GridPane();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            highScoreWriter.shutdown();
+            try {
+                highScoreWriter.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
     }
 
     /**
@@ -80,6 +119,9 @@ public class Model {
     /**
      * This is the method used to load the default game.
      * It load the game file, initialize game and set event filter.
+     * If the previous session stopped before the game was over,
+     * its level is recovered from the autosave journal,
+     * which then keeps every step of this session.
      * @param primaryStage {@code Stage} passed in from Main.
      * @param nickName {@code String} representing the player's nickname obtained from View.
      */
@@ -90,6 +132,14 @@ public class Model {
         InputStream in = getClass().getClassLoader().getResourceAsStream("SampleGame.skb");
         System.out.println(in);
         InitializeGame(in);
+        journal = new AutosaveJournal(new File(System.getProperty("user.dir") + AUTOSAVEFOLDER));
+        Runtime.getRuntime().addShutdownHook(new Thread(journal::close));
+        if (journal.Recover(gameEngine)) {
+            SetTimeLevel(gameEngine.GetTimeLevel());
+            SetTimeTotal(gameEngine.GetTimeTotal());
+        }
+        gameEngine.SetJournal(journal);
+        reloadGrid();
         System.out.println("Hi");
         SetEventFilter();
         System.out.println("Hi");
@@ -102,6 +152,9 @@ public class Model {
      */
     public void InitializeGame(InputStream input) {
         gameEngine = new StartMeUp(input, true);
+        if (journal != null) {
+            gameEngine.SetJournal(journal);
+        }
         reloadGrid();
         try {
             if (input != null) {
@@ -122,8 +175,12 @@ public class Model {
             if (isGamePause) {
                 return;
             }
+            boolean wasLevelDead = gameEngine.IsLevelDead();
             gameEngine.HandleKey(event.getCode());
             reloadGrid();
+            if (!wasLevelDead && gameEngine.IsLevelDead()) {
+                ShowDeadlockMessage();
+            }
         });
     }
 
@@ -216,6 +273,7 @@ public class Model {
         clock = new Timeline(new KeyFrame(Duration.millis(1000), e -> {
             levelTime++;
             SetLevelTime();
+            gameEngine.SetTime(levelTime, totalTime + levelTime);
         }));
         clock.setCycleCount(Timeline.INDEFINITE);
         clock.play();
@@ -223,8 +281,10 @@ public class Model {
 
     /**
      * This is the method to reload the game grid.
-     * It displays the information and returns after each level is over,
-     * and reloads all objects in the current level at other times.
+     * It displays the information and returns after each level is over.
+     * Only the cells inside the viewport around the keeper are drawn.
+     * The whole viewport is drawn again when the level changed or the keeper made it scroll,
+     * otherwise only the visible cells the game engine reports as changed.
      */
     void reloadGrid() {
         SetMovesCount();
@@ -243,206 +303,161 @@ public class Model {
         }
 
         Level currentLevel = gameEngine.GetCurrentLevel();
-        Level.LevelIterator levelGridIterator = (Level.LevelIterator) currentLevel.iterator();
-        gameGrid.getChildren().clear();
-        while (levelGridIterator.hasNext()) {
-            AddObjectToGrid(levelGridIterator.next(), levelGridIterator.GetCurrentPosition());
+        int keeper = currentLevel.GetKeeperIndex();
+        if (gameEngine.IsFullRedraw() || (isCanvasRenderer ? levelCanvas == null : tiles == null)) {
+            viewport.Reset(currentLevel.GetBoard(), keeper);
+            if (isCanvasRenderer) {
+                rebuildCanvas(currentLevel);
+            } else {
+                rebuildGrid(currentLevel);
+            }
+        } else if (viewport.Follow(keeper)) {
+            for (int row = 0; row < viewport.GetRows(); row++) {
+                for (int col = 0; col < viewport.GetColumns(); col++) {
+                    drawCell(currentLevel, viewport.CellAt(row, col));
+                }
+            }
+        } else {
+            for (int cell = gameEngine.NextDirtyCell(0); cell >= 0; cell = gameEngine.NextDirtyCell(cell + 1)) {
+                if (viewport.Contains(cell)) {
+                    drawCell(currentLevel, cell);
+                }
+            }
         }
-        gameGrid.autosize();
-        primaryStage.sizeToScene();
+        gameEngine.ClearDirtyCells();
     }
 
     /**
-     * This is the method used to get the file path corresponding to the current level.
-     * @return {@code String levelFile} which is the file path.
+     * This method draws one visible cell again, on the canvas or on its node of the grid.
+     * @param currentLevel {@code Level} being drawn.
+     * @param cell {@code int} index of the cell on the board, inside the viewport.
      */
-    public String GetLevelFilePath() {
-        int currentLevelIndex = gameEngine.GetLevelIndex();
-        switch (currentLevelIndex) {
-            case 0:
-                levelFile = "src/main/resources/highscore_lists/level1.txt";
-                break;
-
-            case 1:
-                levelFile = "src/main/resources/highscore_lists/level2.txt";
-                break;
+    private void drawCell(Level currentLevel, int cell) {
+        if (isCanvasRenderer) {
+            levelCanvas.DrawCell(currentLevel, cell, viewport);
+        } else {
+            tiles[viewport.ViewIndexOf(cell)].Update(currentLevel.GetTileAt(cell));
+        }
+    }
 
-            case 2:
-                levelFile = "src/main/resources/highscore_lists/level3.txt";
-                break;
+    /**
+     * This method switches between drawing one node per cell in the game grid
+     * and drawing the whole level on one {@code LevelCanvas}, then draws the level again.
+     */
+    public void ToggleRenderer() {
+        isCanvasRenderer = !isCanvasRenderer;
+        tiles = null;
+        levelCanvas = null;
+        reloadGrid();
+    }
 
-            case 3:
-                levelFile = "src/main/resources/highscore_lists/level4.txt";
-                break;
+    /**
+     * This method puts one {@code LevelCanvas} in the game grid and draws a level on it.
+     * @param currentLevel {@code Level} to be drawn.
+     */
+    private void rebuildCanvas(Level currentLevel) {
+        if (levelCanvas == null) {
+            levelCanvas = new LevelCanvas();
+            gameGrid.getChildren().clear();
+            gameGrid.add(levelCanvas, 0, 0);
+        }
+        levelCanvas.DrawLevel(currentLevel, viewport);
+        gameGrid.autosize();
+        primaryStage.sizeToScene();
+    }
 
-            case 4:
-                levelFile = "src/main/resources/highscore_lists/level5.txt";
-                break;
+    /**
+     * This method puts a new node for every cell of the viewport in the game grid.
+     * The nodes are filled again when the viewport scrolls,
+     * so a level larger than the viewport never creates more nodes.
+     * @param currentLevel {@code Level} to be drawn.
+     */
+    private void rebuildGrid(Level currentLevel) {
+        tiles = new GraphicObject[viewport.GetRows() * viewport.GetColumns()];
+        gameGrid.getChildren().clear();
+        for (int row = 0; row < viewport.GetRows(); row++) {
+            for (int col = 0; col < viewport.GetColumns(); col++) {
+                int cell = viewport.CellAt(row, col);
+                tiles[viewport.ViewIndexOf(cell)] = AddObjectToGrid(currentLevel.GetTileAt(cell), new Point(row, col));
+            }
         }
+        gameGrid.autosize();
+        primaryStage.sizeToScene();
+    }
 
-        return levelFile;
+    /**
+     * This method loads the high score lists of every pack and level, on {@code highScoreWriter}.
+     * @return {@code ScoreStore} of the high score lists.
+     * @throws UncheckedIOException when the store cannot be read.
+     */
+    private ScoreStore loadScoreStore() {
+        try {
+            return new ScoreStore(new File(SCORESTORE), highScoreWriter);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * This method save and update the high score list of current level to a file.
      * It passes the high score list of current level to {@code ShowLevelMessage()}.
-     * @return {@code String list} which is the high score list of current level.
+     * @return {@code CompletableFuture<String> list} which is the high score list of current level,
+     * completed on the JavaFX application thread once the lists are loaded.
      */
-    public String ShowHighscoreListLevel() {
-        String list = "";
-        try {
-            String name = "";
-            String nameTemp = nickName;
-            String line = "";
-            boolean isMe = true;
-            int rank = 0;
-            int lineCount = 0;
-            int movesCount = 0;
-            int movesCountTemp = gameEngine.GetMovesCountLevel();
-            long timeInterval = 0;
-            long timeIntervalTemp = levelTime;
-            totalTime += timeIntervalTemp;
-            StringBuilder inputBuffer = new StringBuilder();
-            BufferedReader reader = new BufferedReader(new FileReader(GetLevelFilePath()));
-            while (true) {
-                lineCount++;
-                line = reader.readLine();
-                if (line == null) {
-                    if (lineCount/3 < 10) {
-                        inputBuffer.append("Name: ").append(nameTemp).append('\n');
-                        inputBuffer.append("Time: ").append(timeIntervalTemp).append('\n');
-                        inputBuffer.append("Moves: ").append(movesCountTemp).append('\n');
-                        if (isMe) {
-                            rank = lineCount/3 + 1;
-                            isMe = false;
-                        }
-                    }
-                    break;
-                }
-                if (line.contains("Name: ")) {
-                    name = line.replaceFirst("Name: ", "");
-                }
-                if (line.contains("Time: ")) {
-                    timeInterval = Integer.parseInt(line.replaceFirst("Time: ", ""));
-                }
-                if (line.contains("Moves: ")) {
-                    movesCount = Integer.parseInt(line.replaceFirst("Moves: ", ""));
-                }
-                if (lineCount%3 == 0) {
-                    if (timeIntervalTemp < timeInterval || (timeIntervalTemp == timeInterval && movesCountTemp < movesCount)) {
-                        inputBuffer.append("Name: ").append(nameTemp).append('\n');
-                        inputBuffer.append("Time: ").append(timeIntervalTemp).append('\n');
-                        inputBuffer.append("Moves: ").append(movesCountTemp).append('\n');
-                        nameTemp = name;
-                        timeIntervalTemp = timeInterval;
-                        movesCountTemp = movesCount;
-                        if (isMe) {
-                            rank = lineCount/3;
-                            isMe = false;
-                        }
-                    } else {
-                        inputBuffer.append("Name: ").append(name).append('\n');
-                        inputBuffer.append("Time: ").append(timeInterval).append('\n');
-                        inputBuffer.append("Moves: ").append(movesCount).append('\n');
-                    }
-                }
-            }
-            BufferedWriter writer = new BufferedWriter(new FileWriter(GetLevelFilePath()));
-            writer.write(inputBuffer.toString());
-            writer.flush();
-            writer.close();
-            reader.close();
-
-            if (!isMe) {
-                inputBuffer.append("\n").append("You are in rank ").append(rank).append(".");
-            } else {
-                inputBuffer.append("\n").append("Unfortunately, you are not on the list.");
-            }
-            list = inputBuffer.toString();
-        } catch (Exception e) { e.printStackTrace(); }
-
-        return list;
+    public CompletableFuture<String> ShowHighscoreListLevel() {
+        totalTime += levelTime;
+        return addHighscore(gameEngine.GetLevelIndex(), levelTime, gameEngine.GetMovesCountLevel());
     }
 
     /**
      * This method save and update the high score list of the game to a file.
      * It passes the high score list of the game to {@code ShowVictoryMessage()}.
-     * @return {@code String list} which is the high score list of the game.
+     * @return {@code CompletableFuture<String> list} which is the high score list of the game,
+     * completed on the JavaFX application thread once the lists are loaded.
      */
-    public String ShowHighscoreList() {
-        String list = "";
-        try {
-            String name = "";
-            String nameTemp = nickName;
-            String line = "";
-            boolean isMe = true;
-            int rank = 0;
-            int lineCount = 0;
-            int movesCount = 0;
-            int movesCountTemp = gameEngine.GetMovesCount();
-            long timeTotal = 0;
-            long timeTotalTemp = totalTime + levelTime;
-            StringBuilder inputBuffer = new StringBuilder();
-            String filePath = "src/main/resources/highscore_lists/game.txt";
-            BufferedReader reader = new BufferedReader(new FileReader(filePath));
-            while (true) {
-                lineCount++;
-                line = reader.readLine();
-                if (line == null) {
-                    if (lineCount/3 < 10) {
-                        inputBuffer.append("Name: ").append(nameTemp).append('\n');
-                        inputBuffer.append("Time: ").append(timeTotalTemp).append('\n');
-                        inputBuffer.append("Moves: ").append(movesCountTemp).append('\n');
-                        if (isMe) {
-                            rank = lineCount/3 + 1;
-                            isMe = false;
-                        }
-                    }
-                    break;
-                }
-                if (line.contains("Name: ")) {
-                    name = line.replaceFirst("Name: ", "");
-                }
-                if (line.contains("Time: ")) {
-                    timeTotal = Integer.parseInt(line.replaceFirst("Time: ", ""));
-                }
-                if (line.contains("Moves: ")) {
-                    movesCount = Integer.parseInt(line.replaceFirst("Moves: ", ""));
-                }
-                if (lineCount%3 == 0) {
-                    if (timeTotalTemp < timeTotal || (timeTotalTemp == timeTotal && movesCountTemp < movesCount)) {
-                        inputBuffer.append("Name: ").append(nameTemp).append('\n');
-                        inputBuffer.append("Time: ").append(timeTotalTemp).append('\n');
-                        inputBuffer.append("Moves: ").append(movesCountTemp).append('\n');
-                        nameTemp = name;
-                        timeTotalTemp = timeTotal;
-                        movesCountTemp = movesCount;
-                        if (isMe) {
-                            rank = lineCount/3;
-                            isMe = false;
-                        }
-                    } else {
-                        inputBuffer.append("Name: ").append(name).append('\n');
-                        inputBuffer.append("Time: ").append(timeTotal).append('\n');
-                        inputBuffer.append("Moves: ").append(movesCount).append('\n');
-                    }
-                }
+    public CompletableFuture<String> ShowHighscoreList() {
+        return addHighscore(ScoreStore.GAME, totalTime + levelTime, gameEngine.GetMovesCount());
+    }
+
+    /**
+     * This method adds the score of the player to a high score list
+     * and writes the best scores of the list with the rank of the player.
+     * The lists of every pack and level are loaded once from one {@code ScoreStore} on {@code highScoreWriter},
+     * found by the pack and the level index, and kept sorted in memory.
+     * The score is added on the JavaFX application thread once the store is loaded,
+     * which is done long before a level can be completed, so the list is written from memory.
+     * The store is saved on {@code highScoreWriter}, so the dialog is shown without waiting for the disk.
+     * @param levelIndex {@code int} index of the level, or {@code ScoreStore.GAME} for the whole game.
+     * @param time {@code long} time of the player in seconds.
+     * @param moves {@code int} moves count of the player.
+     * @return {@code CompletableFuture<String> list} which is the high score list.
+     */
+    private CompletableFuture<String> addHighscore(int levelIndex, long time, int moves) {
+        long packHash = ScoreStore.PackHash(gameEngine.GetMapSetName());
+        Level level = levelIndex == ScoreStore.GAME ? null : gameEngine.GetCompletedLevel();
+        return scoreStore.thenApplyAsync(store -> {
+            ScoreStore.Entry entry = store.GetEntry(packHash, levelIndex);
+            if (level != null) {
+                entry.SetLevel(level);
             }
-            BufferedWriter writer = new BufferedWriter(new FileWriter(filePath));
-            writer.write(inputBuffer.toString());
-            writer.flush();
-            writer.close();
-            reader.close();
 
-            if (!isMe) {
-                inputBuffer.append("\n").append("You are in rank ").append(rank).append(".");
-            } else {
-                inputBuffer.append("\n").append("Unfortunately, you are not on the list.");
+            HighScoreBoard.Score score = entry.AddScore(nickName, time, moves);
+            highScoreSave = store.Save();
+            StringBuilder list = new StringBuilder();
+            HighScoreBoard board = entry.GetBoard();
+            for (HighScoreBoard.Score top : board.GetTop(HIGHSCORESHOWN)) {
+                list.append(top);
             }
-            list = inputBuffer.toString();
-        } catch (Exception e) { e.printStackTrace(); }
 
-        return list;
+            int rank = board.GetRank(score);
+            if (rank <= HIGHSCORESHOWN) {
+                list.append("\n").append("You are in rank ").append(rank).append(".");
+            } else {
+                list.append("\n").append("Unfortunately, you are not on the list.");
+            }
+            return list.toString();
+        }, Platform::runLater);
     }
 
     /**
@@ -454,9 +469,9 @@ public class Model {
         String dialogTitle = "Game Over!";
         String dialogMessage = "You completed level " + (gameEngine.GetLevelIndex() + 1)
                 + " in " + gameEngine.GetMovesCountLevel() + " moves!\n"
-                + "The following is the high score list of this level: \n\n" + ShowHighscoreListLevel();
+                + "The following is the high score list of this level: \n\n";
 
-        NewDialog(dialogTitle, dialogMessage, null);
+        showHighscoreDialog(dialogTitle, dialogMessage, ShowHighscoreListLevel());
     }
 
     /**
@@ -468,9 +483,71 @@ public class Model {
         String dialogTitle = "Game Over!";
         String dialogMessage = "You completed " + gameEngine.GetMapSetName()
                 + " in " + gameEngine.GetMovesCount() + " moves!\n"
-                + "The following is the high score list: \n\n" + ShowHighscoreList();
+                + "The following is the high score list: \n\n";
+
+        showHighscoreDialog(dialogTitle, dialogMessage, ShowHighscoreList());
+    }
 
-        NewDialog(dialogTitle, dialogMessage, null);
+    /**
+     * This method shows a dialog at once, shows the high score list in it when it is ready,
+     * and updates its message when the list has been saved.
+     * @param dialogTitle {@code String dialogTitle} which is the title of the dialog.
+     * @param dialogMessage {@code String dialogMessage} which is the message before the high score list.
+     * @param highscoreList {@code CompletableFuture<String>} of the high score list.
+     */
+    private void showHighscoreDialog(String dialogTitle, String dialogMessage, CompletableFuture<String> highscoreList) {
+        Text message = NewDialog(dialogTitle, dialogMessage + "Loading the high score list...", null);
+        highscoreList.whenComplete((list, loadError) -> Platform.runLater(() -> {
+            if (loadError != null) {
+                message.setText(dialogMessage + "The high score list could not be loaded.");
+                return;
+            }
+            message.setText(dialogMessage + list + "\n\nSaving the high score list...");
+            highScoreSave.whenComplete((saved, e) -> Platform.runLater(() -> message.setText(dialogMessage + list
+                    + (e == null ? "" : "\n\nThe high score list could not be saved."))));
+        }));
+    }
+
+    /**
+     * This method tells the player that the current level can no longer be completed.
+     * It shows a dialog with buttons to undo the last step or to reset the level.
+     */
+    public void ShowDeadlockMessage() {
+        final Stage dialog = new Stage();
+        dialog.initModality(Modality.APPLICATION_MODAL);
+        dialog.initOwner(primaryStage);
+        dialog.setResizable(false);
+        dialog.setTitle("Deadlock!");
+
+        Text text1 = new Text("This level can no longer be completed ("
+                + gameEngine.GetDeadlock().toString().toLowerCase().replace('_', ' ') + ").\n"
+                + "Undo the last step or reset the level.");
+        text1.setTextAlignment(TextAlignment.CENTER);
+        text1.setFont(javafx.scene.text.Font.font(TEXT1FONT));
+
+        VBox dialogVbox = new VBox(VBOXSPACING);
+        dialogVbox.setAlignment(Pos.CENTER);
+        dialogVbox.setBackground(Background.EMPTY);
+        dialogVbox.setPadding(new Insets(DIALOGTOP, DIALOGRIGHT, DIALOGBOTTOM, DIALOGLEFT));
+
+        Button buttonUndo = new Button("Undo");
+        Button buttonReset = new Button("Reset Level");
+        buttonUndo.setOnAction(actionEvent -> {
+            gameEngine.Undo();
+            dialog.close();
+            reloadGrid();
+        });
+        buttonReset.setOnAction(actionEvent -> {
+            gameEngine.ResetLevel();
+            dialog.close();
+            reloadGrid();
+        });
+
+        dialogVbox.getChildren().addAll(text1, buttonUndo, buttonReset);
+
+        Scene dialogScene = new Scene(dialogVbox);
+        dialog.setScene(dialogScene);
+        dialog.show();
     }
 
     /**
@@ -481,8 +558,9 @@ public class Model {
      * @param dialogTitle {@code String dialogTitle} which is the title of the dialog.
      * @param dialogMessage {@code String dialogMessage} which is the message of the dialog.
      * @param dialogMessageEffect {@code Effect dialogMessageEffect} which is the effect of the dialog message.
+     * @return {@code Text} of the dialog message, to update it later.
      */
-    public void NewDialog(String dialogTitle, String dialogMessage, Effect dialogMessageEffect) {
+    public Text NewDialog(String dialogTitle, String dialogMessage, Effect dialogMessageEffect) {
         final Stage dialog = new Stage();
         dialog.initModality(Modality.APPLICATION_MODAL);
         dialog.initOwner(primaryStage);
@@ -541,16 +619,19 @@ public class Model {
                 }
             }
         });
+        return text1;
     }
 
     /**
      * This method add an object to a specific location.
      * @param gameObject {@code GameObject} which is the object to be added.
      * @param location {@code Point} which is the point to be added.
+     * @return {@code GraphicObject} node added to the grid.
      */
-    public void AddObjectToGrid(GameObject gameObject, Point location) {
+    public GraphicObject AddObjectToGrid(GameObject gameObject, Point location) {
         GraphicObject graphicObject = new GraphicObject(gameObject);
         gameGrid.add(graphicObject, location.y, location.x);
+        return graphicObject;
     }
 
     /**
@@ -570,15 +651,23 @@ public class Model {
 
     /**
      * This method is used to save the game.
-     * It write the String get from {@code GameFile()} to a file.
+     * It write the String get from {@code GameFile()} to a file,
+     * or a {@code GameSave} of the current level if a binary save file is chosen.
      */
     public void SaveGame() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Save File");
         fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Sokoban save file", "*.skb"));
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Sokoban binary save file", "*" + BINARYSAVE));
         fileToSave = fileChooser.showSaveDialog(primaryStage);
 
         try {
+            if (fileToSave.getName().endsWith(BINARYSAVE)) {
+                try (OutputStream output = new FileOutputStream(fileToSave)) {
+                    gameEngine.CreateSave(levelTime, totalTime + levelTime, true).Write(output);
+                }
+                return;
+            }
             BufferedWriter writer = new BufferedWriter(new FileWriter(fileToSave));
             writer.write(GameFile());
             writer.flush();
@@ -599,18 +688,45 @@ public class Model {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Open Save File");
         fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Sokoban save file", "*.skb"));
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Sokoban binary save file", "*" + BINARYSAVE));
         saveFile = fileChooser.showOpenDialog(primaryStage);
 
         if (saveFile != null) {
             if (StartMeUp.IsDebugActive()) {
                 StartMeUp.m_logger.info("Loading save file: " + saveFile.getName());
             }
+            if (saveFile.getName().endsWith(BINARYSAVE)) {
+                LoadBinarySave(saveFile);
+                return;
+            }
             InitializeGame(new FileInputStream(saveFile));
             SetTimeLevel(gameEngine.GetTimeLevel());
             SetTimeTotal(gameEngine.GetTimeTotal());
         }
     }
 
+    /**
+     * This method is used to load a binary save file.
+     * It opens the default game again and restores the saved level on it,
+     * since a binary save only refers to the levels of its game.
+     * @param file {@code File} of the binary save.
+     */
+    public void LoadBinarySave(File file) {
+        try (InputStream input = new FileInputStream(file)) {
+            GameSave save = GameSave.Read(input);
+            InitializeGame(getClass().getClassLoader().getResourceAsStream("SampleGame.skb"));
+            if (!gameEngine.RestoreSave(save)) {
+                NewDialog("Load Failed", "This save does not belong to " + gameEngine.GetMapSetName() + ".", null);
+                return;
+            }
+            reloadGrid();
+            SetTimeLevel(gameEngine.GetTimeLevel());
+            SetTimeTotal(gameEngine.GetTimeTotal());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     /**
      * This method load the game by calling {@code LoadGameFile()} method.
      */
@@ -44,6 +44,21 @@ public class SubModel {
         model.reloadGrid();
     }
 
+    /**
+     * This method is used to redo the step undone.
+     * It redo the step by calling {@code gameEngine.Redo()}.
+     * The prompt message will be displayed if the keeper can not redo.
+     */
+    public void Redo() {
+        StartMeUp gameEngine = model.GetGameEngine();
+        if (gameEngine.Redo() == 0) {
+            String dialogTitle = "Redo Failed!";
+            String dialogMessage = "There is no step to redo.";
+            model.NewDialog(dialogTitle, dialogMessage, null);
+        }
+        model.reloadGrid();
+    }
+
     /**
      * This method is used to play the music.
      * If the music is not playing,
@@ -46,8 +46,10 @@ public class View {
     private MenuItem menuItemExit;
     private Menu menuFile;
     private MenuItem menuItemUndo;
+    private MenuItem menuItemRedo;
     private RadioMenuItem radioMenuItemMusic;
     private RadioMenuItem radioMenuItemDebug;
+    private RadioMenuItem radioMenuItemCanvas;
     private MenuItem menuItemResetLevel;
     private Menu menuLevel;
     private MenuItem menuItemGame;
@@ -216,12 +218,14 @@ public class View {
         menuFile.getItems().addAll(menuItemSaveGame, menuItemLoadGame, new SeparatorMenuItem(), menuItemExit);
 
         menuItemUndo = new MenuItem("Undo");
+        menuItemRedo = new MenuItem("Redo");
         radioMenuItemMusic = new RadioMenuItem("Toggle Music");
         radioMenuItemDebug = new RadioMenuItem("Toggle Debug");
+        radioMenuItemCanvas = new RadioMenuItem("Canvas Renderer");
         menuItemResetLevel = new MenuItem("Reset Level");
         menuLevel = new Menu("Level");
-        menuLevel.getItems().addAll(menuItemUndo, radioMenuItemMusic, radioMenuItemDebug,
-        new SeparatorMenuItem(), menuItemResetLevel);
+        menuLevel.getItems().addAll(menuItemUndo, menuItemRedo, radioMenuItemMusic, radioMenuItemDebug,
+        radioMenuItemCanvas, new SeparatorMenuItem(), menuItemResetLevel);
 
         menuItemGame = new MenuItem("About This Game");
         menuAbout = new Menu("About");
@@ -278,8 +282,10 @@ public class View {
         menuItemExit.setOnAction(actionEvent -> {controller.CloseGame();});
 
         menuItemUndo.setOnAction(actionEvent -> {controller.Undo();});
+        menuItemRedo.setOnAction(actionEvent -> {controller.Redo();});
         radioMenuItemMusic.setOnAction(actionEvent -> {controller.ToggleMusic();});
         radioMenuItemDebug.setOnAction(actionEvent -> {controller.ToggleDebug();});
+        radioMenuItemCanvas.setOnAction(actionEvent -> {controller.ToggleRenderer();});
         menuItemResetLevel.setOnAction(actionEvent -> {controller.ResetLevel();});
 
         menuAbout.setOnAction(actionEvent -> {controller.ShowAbout();});
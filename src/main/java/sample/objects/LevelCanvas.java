@@ -0,0 +1,87 @@
+package sample.objects;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import sample.mvc.SubModel;
+import sample.start.Level;
+import sample.start.StartMeUp;
+import sample.start.Viewport;
+
+import java.io.IOException;
+
+/**
+ * LevelCanvas draws a whole level onto one {@code Canvas} with the pictures of the {@code SpriteCache}.
+ * It is the batch renderer used instead of one {@code GraphicObject} node per cell,
+ * so the number of nodes stays the same however large the level is.
+ * Only the cells inside the {@code Viewport} are drawn.
+ *
+ * @author Shiqi XIN
+ */
+public class LevelCanvas extends Canvas {
+
+    private final int TILESIZE = 30;
+    private final double STROKEWIDTH = 0.25;
+
+    /**
+     * This method resizes the canvas to a viewport and draws every cell inside it.
+     * @param level {@code Level} to be drawn.
+     * @param viewport {@code Viewport} of the level shown on screen.
+     */
+    public void DrawLevel(Level level, Viewport viewport) {
+        this.setWidth(viewport.GetColumns() * TILESIZE);
+        this.setHeight(viewport.GetRows() * TILESIZE);
+
+        GraphicsContext graphicsContext = this.getGraphicsContext2D();
+        for (int row = 0; row < viewport.GetRows(); row++) {
+            for (int col = 0; col < viewport.GetColumns(); col++) {
+                drawCell(graphicsContext, level, viewport.CellAt(row, col), row, col);
+            }
+        }
+    }
+
+    /**
+     * This method draws one cell of a level again, after a move changed it.
+     * @param level {@code Level} being drawn.
+     * @param cell {@code int} index of the cell on the board, inside the viewport.
+     * @param viewport {@code Viewport} of the level shown on screen.
+     */
+    public void DrawCell(Level level, int cell, Viewport viewport) {
+        int view = viewport.ViewIndexOf(cell);
+        drawCell(this.getGraphicsContext2D(), level, cell,
+                view / viewport.GetColumns(), view % viewport.GetColumns());
+    }
+
+    /**
+     * This method draws the picture of a cell, with a red border in debug mode.
+     * @param graphicsContext {@code GraphicsContext} of the canvas.
+     * @param level {@code Level} being drawn.
+     * @param cell {@code int} index of the cell on the board.
+     * @param row {@code int} row of the cell in the viewport.
+     * @param col {@code int} column of the cell in the viewport.
+     */
+    private void drawCell(GraphicsContext graphicsContext, Level level, int cell, int row, int col) {
+        double x = col * TILESIZE;
+        double y = row * TILESIZE;
+
+        try {
+            Image image = SpriteCache.GetImage(level.GetTileAt(cell), SubModel.GetWallColour(), StartMeUp.GetKeeper());
+            if (image == null) {
+                String message = "Error in LevelCanvas. Object not recognized.";
+                StartMeUp.m_logger.severe(message);
+                throw new AssertionError(message);
+            }
+            graphicsContext.clearRect(x, y, TILESIZE, TILESIZE);
+            graphicsContext.drawImage(image, x, y, TILESIZE, TILESIZE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        if (StartMeUp.IsDebugActive()) {
+            graphicsContext.setStroke(Color.RED);
+            graphicsContext.setLineWidth(STROKEWIDTH);
+            graphicsContext.strokeRect(x, y, TILESIZE, TILESIZE);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package sample.objects;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.ImagePattern;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+
+/**
+ * SpriteCache decodes every sprite of the game once and shares it between all {@code GraphicObject}s.
+ * Sprites are kept by object type, wall colour and keeper direction,
+ * so drawing a level no longer opens or decodes any picture.
+ *
+ * @author Shiqi XIN
+ */
+public final class SpriteCache {
+
+    private static final String SPRITES = "src/main/resources/sprites/";
+    private static final String[] WALLS = {"wall", "wall_blue", "wall_brown", "wall_gray",
+            "wall_green", "wall_red", "wall_orange", "wall_yellow"};
+    private static final String[] KEEPERS = {"keeper", "keeper_up", "keeper_right", "keeper", "keeper_left"};
+    private static final int IMGHEIGHT = 35;
+    private static final int IMGWIDTH = 35;
+
+    private static final ImagePattern[] m_walls = new ImagePattern[WALLS.length];
+    private static final ImagePattern[] m_keepers = new ImagePattern[KEEPERS.length];
+    private static final EnumMap<GameObject, ImagePattern> m_tiles = new EnumMap<>(GameObject.class);
+    private static boolean m_loaded = false;
+
+    /**
+     * The SpriteCache class only has static methods.
+     */
+    private SpriteCache() {
+    }
+
+    /**
+     * This method decodes every sprite, if it has not been done yet.
+     * It needs the JavaFX toolkit, so it is called when the application starts.
+     * @throws IOException when a sprite cannot be read.
+     */
+    public static synchronized void Load() throws IOException {
+        if (m_loaded) {
+            return;
+        }
+
+        for (int i = 0; i < WALLS.length; i++) {
+            m_walls[i] = load("wall/" + WALLS[i]);
+        }
+        for (int i = 0; i < KEEPERS.length; i++) {
+            m_keepers[i] = load("keeper/" + KEEPERS[i]);
+        }
+        m_tiles.put(GameObject.CRATE, load("crate/crate"));
+        m_tiles.put(GameObject.DIAMOND, load("diamond/diamond"));
+        m_tiles.put(GameObject.FLOOR, load("floor/floor"));
+        m_tiles.put(GameObject.CRATE_ON_DIAMOND, load("cod/cod"));
+        m_loaded = true;
+    }
+
+    /**
+     * This method decodes one sprite.
+     * @param name {@code String} path of the picture under the sprites folder, without ".png".
+     * @return {@code ImagePattern} filled with the picture.
+     * @throws IOException when the picture cannot be read.
+     */
+    private static ImagePattern load(String name) throws IOException {
+        try (InputStream inputStream = new FileInputStream(new File(SPRITES + name + ".png"))) {
+            return new ImagePattern(new Image(inputStream, IMGWIDTH, IMGHEIGHT, false, true));
+        }
+    }
+
+    /**
+     * This method gets the sprite of an object.
+     * The sprites are loaded the first time if {@code Load()} has not been called.
+     * @param obj {@code GameObject} to be drawn.
+     * @param wallColour {@code int} index of the wall colour, from {@code SubModel.GetWallColour()}.
+     * @param keeper {@code int} direction of the keeper, from {@code StartMeUp.GetKeeper()}.
+     * @return {@code ImagePattern} of the object, or {@code null} if the object has no sprite.
+     * @throws IOException when the sprites cannot be read.
+     */
+    public static ImagePattern Get(GameObject obj, int wallColour, int keeper) throws IOException {
+        if (!m_loaded) {
+            Load();
+        }
+
+        switch (obj) {
+            case WALL:
+                return m_walls[wallColour >= 0 && wallColour < m_walls.length ? wallColour : 0];
+
+            case KEEPER:
+                return m_keepers[keeper >= 0 && keeper < m_keepers.length ? keeper : 0];
+
+            default:
+                return m_tiles.get(obj);
+        }
+    }
+
+    /**
+     * This method gets the picture of an object, to be drawn on a {@code Canvas}.
+     * @param obj {@code GameObject} to be drawn.
+     * @param wallColour {@code int} index of the wall colour, from {@code SubModel.GetWallColour()}.
+     * @param keeper {@code int} direction of the keeper, from {@code StartMeUp.GetKeeper()}.
+     * @return {@code Image} of the object, or {@code null} if the object has no sprite.
+     * @throws IOException when the sprites cannot be read.
+     */
+    public static Image GetImage(GameObject obj, int wallColour, int keeper) throws IOException {
+        ImagePattern sprite = Get(obj, wallColour, keeper);
+        return sprite == null ? null : sprite.getImage();
+    }
+}
@@ -0,0 +1,287 @@
+package sample.solver;
+
+import sample.start.Board;
+import sample.start.Deadlock;
+import sample.start.Zobrist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Expander generates the states that follow a {@code SearchNode}.
+ * It owns the scratch arrays used to find the keeper area,
+ * so every thread of a search needs its own Expander.
+ *
+ * @author Shiqi XIN
+ */
+final class Expander {
+
+    private static final String LURD = "urdl";
+
+    private final Puzzle puzzle;
+    private final Solver.Mode mode;
+    private final Heuristic heuristic;
+    private final Deadlock deadlock;
+    private final boolean[] occupied;
+    private final int[] visited;
+    private final int[] cameFrom;
+    private final int[] queue;
+    private int visitMark = 0;
+
+    /**
+     * This is the only constructor of the Expander class.
+     * @param puzzle {@code Puzzle} being searched.
+     * @param mode {@code Solver.Mode} of the search.
+     * @param heuristic {@code Heuristic} estimating the children.
+     */
+    Expander(Puzzle puzzle, Solver.Mode mode, Heuristic heuristic) {
+        this.puzzle = puzzle;
+        this.mode = mode;
+        this.heuristic = heuristic;
+        deadlock = puzzle.newDeadlock();
+        occupied = new boolean[puzzle.GetSize()];
+        visited = new int[puzzle.GetSize()];
+        cameFrom = new int[puzzle.GetSize()];
+        queue = new int[puzzle.GetSize()];
+    }
+
+    /**
+     * This method creates the node of the start state.
+     * @return {@code SearchNode} of the start, or {@code null} if it is already dead.
+     */
+    SearchNode root() {
+        int[] crates = puzzle.GetInitialCrates();
+        int estimate = heuristic.Estimate(puzzle, crates);
+        if (estimate == Heuristic.DEAD) {
+            return null;
+        }
+        return new SearchNode(crates, Zobrist.HashCrates(crates), puzzle.GetInitialKeeper(), 0, estimate,
+                null, -1, -1);
+    }
+
+    /**
+     * This method prepares a node to be expanded and gets its transposition key.
+     * It must be followed by {@code close()} on the same node.
+     * @param node {@code SearchNode} to be expanded.
+     * @return {@code StateKey} of the node.
+     */
+    StateKey open(SearchNode node) {
+        mark(node.crates, true);
+        int keeperKey = mode == Solver.Mode.PUSHES ? reach(node.keeper) : node.keeper;
+        return new StateKey(node.crates, node.crateHash, keeperKey);
+    }
+
+    /**
+     * This method clears the marks left by {@code open()}.
+     * @param node {@code SearchNode} that was opened.
+     */
+    void close(SearchNode node) {
+        mark(node.crates, false);
+    }
+
+    /**
+     * This method adds every state that follows an opened node to a list.
+     * @param node {@code SearchNode} opened by {@code open()}.
+     * @param children {@code List<SearchNode>} the new states are added to.
+     * @param closed {@code Set<StateKey>} of expanded states, used to skip walks back into them.
+     */
+    void expand(SearchNode node, List<SearchNode> children, Set<StateKey> closed) {
+        if (mode == Solver.Mode.PUSHES) {
+            expandPushes(node, children);
+        } else {
+            expandMoves(node, children, closed);
+        }
+    }
+
+    /**
+     * This method checks whether enough crates are on goals.
+     * @param crates {@code int[]} cells of the crates.
+     * @return {@code true} if every goal is covered, else {@code false}.
+     */
+    boolean isSolved(int[] crates) {
+        int cratedGoals = 0;
+        for (int crate : crates) {
+            if (puzzle.IsGoal(crate)) {
+                cratedGoals++;
+            }
+        }
+        return cratedGoals >= puzzle.GetGoalCount();
+    }
+
+    /**
+     * This method marks or clears the crate cells in {@code occupied}.
+     * @param crates {@code int[]} cells of the crates.
+     * @param value {@code boolean} to be written.
+     */
+    private void mark(int[] crates, boolean value) {
+        for (int crate : crates) {
+            occupied[crate] = value;
+        }
+    }
+
+    /**
+     * This method finds every cell the keeper can walk to without pushing,
+     * marking them with the current {@code visitMark}.
+     * @param start {@code int} cell of the keeper.
+     * @return {@code int} smallest reachable cell, which names the keeper area.
+     */
+    private int reach(int start) {
+        visitMark++;
+        int head = 0;
+        int tail = 0;
+        int smallest = start;
+        visited[start] = visitMark;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            smallest = Math.min(smallest, cell);
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                int next = puzzle.GetNeighbour(cell, direction);
+                if (next != Board.BLOCKED && !occupied[next] && visited[next] != visitMark) {
+                    visited[next] = visitMark;
+                    cameFrom[next] = direction;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        return smallest;
+    }
+
+    /**
+     * This method adds every push the keeper can make from its area.
+     * @param node {@code SearchNode} being expanded, after {@code reach()}.
+     * @param children {@code List<SearchNode>} the new states are added to.
+     */
+    private void expandPushes(SearchNode node, List<SearchNode> children) {
+        for (int index = 0; index < node.crates.length; index++) {
+            int crate = node.crates[index];
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                int behind = puzzle.GetNeighbour(crate, Board.Opposite(direction));
+                if (behind == Board.BLOCKED || visited[behind] != visitMark) {
+                    continue;
+                }
+                int target = puzzle.GetNeighbour(crate, direction);
+                if (target == Board.BLOCKED || occupied[target] || puzzle.IsDeadSquare(target)) {
+                    continue;
+                }
+                addChild(node, index, target, crate, direction | Board.PUSH, children);
+            }
+        }
+    }
+
+    /**
+     * This method adds every single step of the keeper.
+     * @param node {@code SearchNode} being expanded.
+     * @param children {@code List<SearchNode>} the new states are added to.
+     * @param closed {@code Set<StateKey>} of expanded states.
+     */
+    private void expandMoves(SearchNode node, List<SearchNode> children, Set<StateKey> closed) {
+        for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+            int target = puzzle.GetNeighbour(node.keeper, direction);
+            if (target == Board.BLOCKED) {
+                continue;
+            }
+
+            if (!occupied[target]) {
+                if (!closed.contains(new StateKey(node.crates, node.crateHash, target))) {
+                    children.add(new SearchNode(node.crates, node.crateHash, target, node.cost + 1, node.estimate,
+                            node, direction, -1));
+                }
+                continue;
+            }
+
+            int beyond = puzzle.GetNeighbour(target, direction);
+            if (beyond == Board.BLOCKED || occupied[beyond] || puzzle.IsDeadSquare(beyond)) {
+                continue;
+            }
+            int index = Arrays.binarySearch(node.crates, target);
+            addChild(node, index, beyond, target, direction | Board.PUSH, children);
+        }
+    }
+
+    /**
+     * This method adds a state reached by a push, unless it is dead.
+     * Frozen crates and closed corrals are found by {@code Deadlock} before the crates are copied.
+     * The Zobrist hash of the crates is updated with two XORs.
+     * @param node {@code SearchNode} the push is made from.
+     * @param index {@code int} index of the pushed crate in the crate array.
+     * @param target {@code int} cell the crate is pushed to.
+     * @param keeper {@code int} keeper cell after the push, which is where the crate was.
+     * @param step {@code int} direction of the push with {@code Board.PUSH} set.
+     * @param children {@code List<SearchNode>} the new state is added to.
+     */
+    private void addChild(SearchNode node, int index, int target, int keeper, int step, List<SearchNode> children) {
+        occupied[keeper] = false;
+        occupied[target] = true;
+        Deadlock.Reason reason = deadlock.CheckPush(occupied, target, keeper);
+        occupied[target] = false;
+        occupied[keeper] = true;
+        if (reason != Deadlock.Reason.NONE) {
+            return;
+        }
+
+        int[] crates = Solver.moveCrate(node.crates, index, target);
+        int estimate = heuristic.Estimate(puzzle, crates);
+        if (estimate != Heuristic.DEAD) {
+            long crateHash = node.crateHash ^ Zobrist.CrateKey(keeper) ^ Zobrist.CrateKey(target);
+            children.add(new SearchNode(crates, crateHash, keeper, node.cost + 1, estimate, node, step, keeper));
+        }
+    }
+
+    /**
+     * This method writes the moves from the start to a node in LURD format.
+     * For push searches the walks between pushes are filled in with shortest walks.
+     * @param goal {@code SearchNode} solved node.
+     * @return {@code String} moves of the solution.
+     */
+    String path(SearchNode goal) {
+        List<SearchNode> nodes = new ArrayList<>();
+        for (SearchNode node = goal; node.parent != null; node = node.parent) {
+            nodes.add(node);
+        }
+
+        StringBuilder moves = new StringBuilder();
+        int[] crates = puzzle.GetInitialCrates();
+        int keeper = puzzle.GetInitialKeeper();
+        mark(crates, true);
+
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            SearchNode node = nodes.get(i);
+            int direction = node.step & 3;
+            if ((node.step & Board.PUSH) == 0) {
+                moves.append(LURD.charAt(direction));
+                keeper = node.keeper;
+                continue;
+            }
+
+            int behind = puzzle.GetNeighbour(node.pushedFrom, Board.Opposite(direction));
+            walk(moves, keeper, behind);
+            moves.append(Character.toUpperCase(LURD.charAt(direction)));
+            occupied[node.pushedFrom] = false;
+            occupied[puzzle.GetNeighbour(node.pushedFrom, direction)] = true;
+            keeper = node.pushedFrom;
+        }
+
+        Arrays.fill(occupied, false);
+        return moves.toString();
+    }
+
+    /**
+     * This method appends the shortest walk between two cells that does not push any crate.
+     * @param moves {@code StringBuilder} to append to.
+     * @param from {@code int} cell the keeper starts on.
+     * @param to {@code int} cell the keeper walks to.
+     */
+    private void walk(StringBuilder moves, int from, int to) {
+        reach(from);
+        int start = moves.length();
+        for (int cell = to; cell != from; cell = puzzle.GetNeighbour(cell, Board.Opposite(cameFrom[cell]))) {
+            moves.append(LURD.charAt(cameFrom[cell]));
+        }
+        moves.replace(start, moves.length(), new StringBuilder(moves.substring(start)).reverse().toString());
+    }
+}
@@ -0,0 +1,21 @@
+package sample.solver;
+
+/**
+ * Heuristic estimates how many pushes are still needed to solve a state.
+ * The {@code Solver} only finds optimal solutions
+ * when the estimate never exceeds the real number of pushes.
+ *
+ * @author Shiqi XIN
+ */
+public interface Heuristic {
+
+    int DEAD = Integer.MAX_VALUE;
+
+    /**
+     * This method estimates the pushes needed to move every crate onto a goal.
+     * @param puzzle {@code Puzzle} being searched.
+     * @param crates {@code int[]} sorted cells of the crates.
+     * @return {@code int} estimate, or {@code DEAD} if the state can never be solved.
+     */
+    int Estimate(Puzzle puzzle, int[] crates);
+}
@@ -0,0 +1,37 @@
+package sample.solver;
+
+/**
+ * MinimumPushHeuristic adds up the pushes every crate needs to reach its nearest goal.
+ * Each push moves one crate by one cell, so the sum never overestimates.
+ * A crate on a cell from which no goal can be reached makes the state dead.
+ *
+ * @author Shiqi XIN
+ */
+public class MinimumPushHeuristic implements Heuristic {
+
+    /**
+     * This method adds up the push distance of every crate.
+     * When there are more crates than goals it returns 0,
+     * because some crates never have to move.
+     * @param puzzle {@code Puzzle} being searched.
+     * @param crates {@code int[]} sorted cells of the crates.
+     * @return {@code int} estimate, or {@code DEAD} if a crate can never reach a goal.
+     */
+    @Override
+    public int Estimate(Puzzle puzzle, int[] crates) {
+        if (!puzzle.IsBalanced()) {
+            return 0;
+        }
+
+        int estimate = 0;
+        for (int crate : crates) {
+            int distance = puzzle.GetPushDistance(crate);
+            if (distance == Puzzle.UNREACHABLE) {
+                return DEAD;
+            }
+            estimate += distance;
+        }
+
+        return estimate;
+    }
+}
@@ -0,0 +1,220 @@
+package sample.solver;
+
+import sample.start.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ParallelSolver runs the {@code Solver} search on every core of the machine.
+ * States are grouped in buckets by moves made plus estimate.
+ * The lowest bucket is split across a {@code ForkJoinPool} and expanded at once,
+ * then the next lowest bucket is taken, so solutions stay as short as with {@code Solver}.
+ * Workers share one {@code ConcurrentHashMap} key set as the visited-state table,
+ * whose bins are locked one at a time and read without locks.
+ *
+ * @author Shiqi XIN
+ */
+public class ParallelSolver {
+
+    private static final int SPLITSIZE = 64;
+
+    private final Heuristic heuristic;
+    private final int maxStates;
+    private final ForkJoinPool pool;
+
+    /**
+     * This constructor creates a solver with the {@code MinimumPushHeuristic},
+     * the default state limit and one worker per core.
+     */
+    public ParallelSolver() {
+        this(new MinimumPushHeuristic(), Solver.MAXSTATES, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * This constructor creates a solver with the given heuristic, state limit and number of workers.
+     * @param heuristic {@code Heuristic} guiding the search, shared by every worker.
+     * @param maxStates {@code int} number of states kept before the search gives up.
+     * @param parallelism {@code int} number of worker threads.
+     */
+    public ParallelSolver(Heuristic heuristic, int maxStates, int parallelism) {
+        this.heuristic = heuristic;
+        this.maxStates = maxStates;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * This method gets the number of worker threads.
+     * @return {@code int} parallelism of the pool.
+     */
+    public int GetParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * This method solves a level from its current state.
+     * @param level {@code Level} to be solved.
+     * @param mode {@code Solver.Mode} deciding whether pushes or moves are minimised.
+     * @return {@code Solution} of the search.
+     */
+    public Solution Solve(Level level, Solver.Mode mode) {
+        return Solve(new Puzzle(level), mode);
+    }
+
+    /**
+     * This method solves every level of a list, such as the one
+     * {@code StartMeUp.LoadGameFile()} returns, one after another with all workers.
+     * @param levels {@code List<Level>} to be solved.
+     * @param mode {@code Solver.Mode} deciding whether pushes or moves are minimised.
+     * @return {@code List<Solution>} in the same order as the levels.
+     */
+    public List<Solution> SolveAll(List<Level> levels, Solver.Mode mode) {
+        List<Solution> solutions = new ArrayList<>(levels.size());
+        for (Level level : levels) {
+            solutions.add(Solve(level, mode));
+        }
+        return solutions;
+    }
+
+    /**
+     * This method solves a puzzle.
+     * @param puzzle {@code Puzzle} to be solved.
+     * @param mode {@code Solver.Mode} deciding whether pushes or moves are minimised.
+     * @return {@code Solution} of the search.
+     */
+    public Solution Solve(Puzzle puzzle, Solver.Mode mode) {
+        long startTime = System.nanoTime();
+        Search search = new Search(puzzle, mode);
+        SearchNode root = new Expander(puzzle, mode, heuristic).root();
+        if (root == null) {
+            return new Solution(Solution.Status.UNSOLVABLE, "", 0, System.nanoTime() - startTime);
+        }
+
+        TreeMap<Long, List<SearchNode>> buckets = new TreeMap<>();
+        buckets.computeIfAbsent(root.total(), total -> new ArrayList<>()).add(root);
+        long pending = 1;
+
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, List<SearchNode>> bucket = buckets.pollFirstEntry();
+            List<SearchNode> batch = bucket.getValue();
+            pending -= batch.size();
+
+            while (!batch.isEmpty()) {
+                if (search.closed.size() + pending + batch.size() > maxStates) {
+                    return new Solution(Solution.Status.LIMIT_REACHED, "", search.explored.sum(),
+                            System.nanoTime() - startTime);
+                }
+
+                List<SearchNode> children = pool.invoke(search.new ExpandTask(batch, 0, batch.size()));
+                SearchNode solved = search.solved.get();
+                if (solved != null) {
+                    return new Solution(Solution.Status.SOLVED, new Expander(puzzle, mode, heuristic).path(solved),
+                            search.explored.sum(), System.nanoTime() - startTime);
+                }
+
+                batch = new ArrayList<>();
+                for (SearchNode child : children) {
+                    if (child.total() <= bucket.getKey()) {
+                        batch.add(child);
+                    } else {
+                        buckets.computeIfAbsent(child.total(), total -> new ArrayList<>()).add(child);
+                        pending++;
+                    }
+                }
+            }
+        }
+
+        return new Solution(Solution.Status.UNSOLVABLE, "", search.explored.sum(), System.nanoTime() - startTime);
+    }
+
+    /**
+     * This method stops the worker threads once the solver is no longer needed.
+     */
+    public void Shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Search keeps the shared visited-state table and counters of one solve.
+     */
+    private final class Search {
+
+        private final Set<StateKey> closed = ConcurrentHashMap.newKeySet();
+        private final LongAdder explored = new LongAdder();
+        private final AtomicReference<SearchNode> solved = new AtomicReference<>();
+        private final ThreadLocal<Expander> expanders;
+
+        /**
+         * This is the only constructor of the Search class.
+         * @param puzzle {@code Puzzle} to be solved.
+         * @param mode {@code Solver.Mode} of the search.
+         */
+        Search(Puzzle puzzle, Solver.Mode mode) {
+            expanders = ThreadLocal.withInitial(() -> new Expander(puzzle, mode, heuristic));
+        }
+
+        /**
+         * ExpandTask expands a slice of a bucket, splitting it in half until it is small.
+         */
+        private final class ExpandTask extends RecursiveTask<List<SearchNode>> {
+
+            private static final long serialVersionUID = 1L;
+
+            private final List<SearchNode> batch;
+            private final int from;
+            private final int to;
+
+            /**
+             * This is the only constructor of the ExpandTask class.
+             * @param batch {@code List<SearchNode>} bucket being expanded.
+             * @param from {@code int} first index of the slice.
+             * @param to {@code int} index after the last one of the slice.
+             */
+            ExpandTask(List<SearchNode> batch, int from, int to) {
+                this.batch = batch;
+                this.from = from;
+                this.to = to;
+            }
+
+            /**
+             * This method expands the slice, or forks its two halves.
+             * @return {@code List<SearchNode>} children of every node of the slice.
+             */
+            @Override
+            protected List<SearchNode> compute() {
+                if (to - from > SPLITSIZE) {
+                    int middle = (from + to) >>> 1;
+                    ExpandTask left = new ExpandTask(batch, from, middle);
+                    left.fork();
+                    List<SearchNode> children = new ExpandTask(batch, middle, to).compute();
+                    children.addAll(left.join());
+                    return children;
+                }
+
+                Expander expander = expanders.get();
+                List<SearchNode> children = new ArrayList<>();
+                for (int i = from; i < to && solved.get() == null; i++) {
+                    SearchNode node = batch.get(i);
+                    if (closed.add(expander.open(node))) {
+                        explored.increment();
+                        if (expander.isSolved(node.crates)) {
+                            solved.compareAndSet(null, node);
+                        } else {
+                            expander.expand(node, children, closed);
+                        }
+                    }
+                    expander.close(node);
+                }
+                return children;
+            }
+        }
+    }
+}
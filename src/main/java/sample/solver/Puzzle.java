@@ -0,0 +1,212 @@
+package sample.solver;
+
+import sample.start.Board;
+import sample.start.Deadlock;
+import sample.start.Level;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Puzzle is a read-only snapshot of a {@code Level} prepared for searching.
+ * It keeps the walls and goals of the board, the neighbours of every cell,
+ * the positions of the crates and the keeper,
+ * and the number of pushes a lone crate needs to reach the nearest goal from every cell.
+ *
+ * @author Shiqi XIN
+ */
+public final class Puzzle {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int columns;
+    private final int size;
+    private final boolean[] goals;
+    private final int[] neighbours;
+    private final int[] goalCells;
+    private final int[] initialCrates;
+    private final int initialKeeper;
+    private final int[] pushDistance;
+    private final BitSet deadSquares;
+    private final Deadlock deadlock;
+
+    /**
+     * This is the only constructor of the Puzzle class.
+     * It copies the current state of the level, so later moves in the level do not change it.
+     * @param level {@code Level} to be searched.
+     */
+    public Puzzle(Level level) {
+        Board board = level.GetBoard();
+        columns = board.GetColumns();
+        size = board.GetSize();
+        goals = new boolean[size];
+        neighbours = new int[size * 4];
+
+        int crateCount = 0;
+        int goalCount = 0;
+        for (int cell = 0; cell < size; cell++) {
+            goals[cell] = board.Has(cell, Board.GOAL);
+            goalCount += goals[cell] ? 1 : 0;
+            crateCount += board.Has(cell, Board.CRATE) ? 1 : 0;
+
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                int neighbour = board.Has(cell, Board.WALL) ? Board.BLOCKED : board.Neighbour(cell, direction);
+                if (neighbour != Board.BLOCKED && board.Has(neighbour, Board.WALL)) {
+                    neighbour = Board.BLOCKED;
+                }
+                neighbours[cell * 4 + direction] = neighbour;
+            }
+        }
+
+        goalCells = new int[goalCount];
+        initialCrates = new int[crateCount];
+        for (int cell = 0, goal = 0, crate = 0; cell < size; cell++) {
+            if (goals[cell]) {
+                goalCells[goal++] = cell;
+            }
+            if (board.Has(cell, Board.CRATE)) {
+                initialCrates[crate++] = cell;
+            }
+        }
+
+        initialKeeper = level.GetKeeperIndex();
+        pushDistance = computePushDistance();
+        deadSquares = level.GetDeadSquares();
+        deadlock = new Deadlock(board, deadSquares, IsBalanced());
+    }
+
+    /**
+     * This method computes how many pushes a crate needs to reach the nearest goal
+     * from every cell, ignoring the other crates.
+     * It pulls crates backwards from every goal at the same time.
+     * @return {@code int[]} distance of every cell, {@code UNREACHABLE} if no goal can be reached.
+     */
+    private int[] computePushDistance() {
+        int[] distance = new int[size];
+        Arrays.fill(distance, UNREACHABLE);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+
+        for (int goal : goalCells) {
+            distance[goal] = 0;
+            queue[tail++] = goal;
+        }
+
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                // A crate pushed in this direction lands on cell from the previous cell,
+                // with the keeper standing one cell further back.
+                int previous = GetNeighbour(cell, Board.Opposite(direction));
+                if (previous == Board.BLOCKED || distance[previous] != UNREACHABLE) {
+                    continue;
+                }
+                if (GetNeighbour(previous, Board.Opposite(direction)) == Board.BLOCKED) {
+                    continue;
+                }
+                distance[previous] = distance[cell] + 1;
+                queue[tail++] = previous;
+            }
+        }
+
+        return distance;
+    }
+
+    /**
+     * This method gets the number of columns of the board.
+     * @return {@code int columns}.
+     */
+    public int GetColumns() {
+        return columns;
+    }
+
+    /**
+     * This method gets the number of cells of the board.
+     * @return {@code int size}.
+     */
+    public int GetSize() {
+        return size;
+    }
+
+    /**
+     * This method gets the neighbour of a cell that is not a wall.
+     * @param cell {@code int} index of the cell.
+     * @param direction {@code int} one of {@code Board.UP}, {@code Board.RIGHT},
+     * {@code Board.DOWN} and {@code Board.LEFT}.
+     * @return {@code int} index of the neighbour, or {@code Board.BLOCKED} if it is a wall or outside.
+     */
+    public int GetNeighbour(int cell, int direction) {
+        return neighbours[cell * 4 + direction];
+    }
+
+    /**
+     * This method checks whether a cell is a goal.
+     * @param cell {@code int} index of the cell.
+     * @return {@code true} if the cell is a goal, else {@code false}.
+     */
+    public boolean IsGoal(int cell) {
+        return goals[cell];
+    }
+
+    /**
+     * This method gets the number of goals.
+     * @return {@code int} number of goals.
+     */
+    public int GetGoalCount() {
+        return goalCells.length;
+    }
+
+    /**
+     * This method checks whether the number of crates equals the number of goals,
+     * in which case every crate has to end on a goal.
+     * @return {@code true} if they are equal, else {@code false}.
+     */
+    public boolean IsBalanced() {
+        return goalCells.length == initialCrates.length;
+    }
+
+    /**
+     * This method gets the sorted cells of the crates at the start.
+     * @return {@code int[]} copy of the crate cells.
+     */
+    public int[] GetInitialCrates() {
+        return initialCrates.clone();
+    }
+
+    /**
+     * This method gets the cell of the keeper at the start.
+     * @return {@code int} index of the keeper cell.
+     */
+    public int GetInitialKeeper() {
+        return initialKeeper;
+    }
+
+    /**
+     * This method gets how many pushes a lone crate needs to reach the nearest goal.
+     * @param cell {@code int} index of the cell.
+     * @return {@code int} pushes needed, or {@code UNREACHABLE}.
+     */
+    public int GetPushDistance(int cell) {
+        return pushDistance[cell];
+    }
+
+    /**
+     * This method checks whether a crate pushed onto a cell can never be solved,
+     * using the dead squares the level computed when it was loaded.
+     * It is always false when there are more crates than goals.
+     * @param cell {@code int} index of the cell.
+     * @return {@code true} if a crate on the cell makes the state dead, else {@code false}.
+     */
+    public boolean IsDeadSquare(int cell) {
+        return IsBalanced() && deadSquares.get(cell);
+    }
+
+    /**
+     * This method creates a deadlock detector for one thread of a search.
+     * @return {@code Deadlock} sharing the tables of this puzzle.
+     */
+    Deadlock newDeadlock() {
+        return deadlock.Copy();
+    }
+}
@@ -0,0 +1,51 @@
+package sample.solver;
+
+/**
+ * SearchNode is one state reached by the search, linked to the state it came from.
+ * The crates are kept as a sorted array of cells, so two nodes with the same crates
+ * and keeper describe the same state.
+ *
+ * @author Shiqi XIN
+ */
+final class SearchNode {
+
+    final int[] crates;
+    final long crateHash;
+    final int keeper;
+    final int cost;
+    final int estimate;
+    final SearchNode parent;
+    final int step;
+    final int pushedFrom;
+
+    /**
+     * This is the only constructor of the SearchNode class.
+     * @param crates {@code int[]} sorted cells of the crates.
+     * @param crateHash {@code long} Zobrist hash of the crates.
+     * @param keeper {@code int} cell of the keeper.
+     * @param cost {@code int} moves or pushes made from the start.
+     * @param estimate {@code int} moves or pushes still needed, from the {@code Heuristic}.
+     * @param parent {@code SearchNode} this node came from, {@code null} for the start.
+     * @param step {@code int} direction of the last step, with {@code Board.PUSH} set for a push.
+     * @param pushedFrom {@code int} cell the pushed crate came from, or -1.
+     */
+    SearchNode(int[] crates, long crateHash, int keeper, int cost, int estimate, SearchNode parent,
+               int step, int pushedFrom) {
+        this.crates = crates;
+        this.crateHash = crateHash;
+        this.keeper = keeper;
+        this.cost = cost;
+        this.estimate = estimate;
+        this.parent = parent;
+        this.step = step;
+        this.pushedFrom = pushedFrom;
+    }
+
+    /**
+     * This method gets the total cost the search sorts by.
+     * @return {@code long} cost plus estimate.
+     */
+    long total() {
+        return (long) cost + estimate;
+    }
+}
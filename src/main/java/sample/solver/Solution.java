@@ -0,0 +1,121 @@
+package sample.solver;
+
+/**
+ * Solution is the result of a {@code Solver} search.
+ * The moves are written in the LURD format,
+ * where lowercase letters are moves and uppercase letters are pushes.
+ *
+ * @author Shiqi XIN
+ */
+public final class Solution {
+
+    /**
+     * Status defines how a search ended.
+     */
+    public enum Status {
+        SOLVED,
+        UNSOLVABLE,
+        LIMIT_REACHED
+    }
+
+    private final Status status;
+    private final String moves;
+    private final int pushCount;
+    private final long exploredStates;
+    private final long elapsedNanos;
+
+    /**
+     * This is the only constructor of the Solution class.
+     * @param status {@code Status} of the search.
+     * @param moves {@code String} moves in LURD format, empty if not solved.
+     * @param exploredStates {@code long} number of states the search expanded.
+     * @param elapsedNanos {@code long} wall-clock time of the search in nanoseconds.
+     */
+    Solution(Status status, String moves, long exploredStates, long elapsedNanos) {
+        this.status = status;
+        this.moves = moves;
+        this.exploredStates = exploredStates;
+        this.elapsedNanos = elapsedNanos;
+
+        int pushes = 0;
+        for (int i = 0; i < moves.length(); i++) {
+            if (Character.isUpperCase(moves.charAt(i))) {
+                pushes++;
+            }
+        }
+        pushCount = pushes;
+    }
+
+    /**
+     * This method gets the status of the search.
+     * @return {@code Status status}.
+     */
+    public Status GetStatus() {
+        return status;
+    }
+
+    /**
+     * This method checks whether a solution was found.
+     * @return {@code true} if the level was solved, else {@code false}.
+     */
+    public boolean IsSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /**
+     * This method gets the moves of the solution in LURD format.
+     * @return {@code String moves}.
+     */
+    public String GetMoves() {
+        return moves;
+    }
+
+    /**
+     * This method gets the number of moves of the solution, pushes included.
+     * @return {@code int} number of moves.
+     */
+    public int GetMoveCount() {
+        return moves.length();
+    }
+
+    /**
+     * This method gets the number of pushes of the solution.
+     * @return {@code int pushCount}.
+     */
+    public int GetPushCount() {
+        return pushCount;
+    }
+
+    /**
+     * This method gets the number of states the search expanded.
+     * @return {@code long exploredStates}.
+     */
+    public long GetExploredStates() {
+        return exploredStates;
+    }
+
+    /**
+     * This method gets the wall-clock time of the search.
+     * @return {@code long elapsedNanos} in nanoseconds.
+     */
+    public long GetElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * This method gets the throughput of the search.
+     * @return {@code double} states expanded per second.
+     */
+    public double GetStatesPerSecond() {
+        return elapsedNanos == 0 ? 0 : exploredStates * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Print the status and the moves of the solution.
+     * @return {@code String} describing the solution.
+     */
+    @Override
+    public String toString() {
+        return status + " " + moves;
+    }
+}
@@ -0,0 +1,158 @@
+package sample.solver;
+
+import sample.start.Level;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Solver finds the shortest solution of a {@code Level} with an A* search.
+ * It searches either the fewest pushes or the fewest moves,
+ * guided by a pluggable {@code Heuristic}.
+ * States are sorted crate cells plus a keeper cell, never {@code GameGrid} objects,
+ * and every expanded state is kept in a transposition table so it is expanded only once.
+ * The search gives up when the number of kept states reaches a limit.
+ *
+ * @author Shiqi XIN
+ */
+public class Solver {
+
+    /**
+     * Mode defines what the solution should have the fewest of.
+     */
+    public enum Mode {
+        PUSHES,
+        MOVES
+    }
+
+    public static final int MAXSTATES = 2000000;
+
+    private final Heuristic heuristic;
+    private final int maxStates;
+
+    /**
+     * This constructor creates a solver with the {@code MinimumPushHeuristic}
+     * and the default state limit.
+     */
+    public Solver() {
+        this(new MinimumPushHeuristic(), MAXSTATES);
+    }
+
+    /**
+     * This constructor creates a solver with the given heuristic and state limit.
+     * @param heuristic {@code Heuristic} guiding the search.
+     * @param maxStates {@code int} number of states kept before the search gives up.
+     */
+    public Solver(Heuristic heuristic, int maxStates) {
+        this.heuristic = heuristic;
+        this.maxStates = maxStates;
+    }
+
+    /**
+     * This method solves a level from its current state.
+     * The level itself is not changed.
+     * @param level {@code Level} to be solved.
+     * @param mode {@code Mode} deciding whether pushes or moves are minimised.
+     * @return {@code Solution} of the search.
+     */
+    public Solution Solve(Level level, Mode mode) {
+        return Solve(new Puzzle(level), mode);
+    }
+
+    /**
+     * This method solves a puzzle.
+     * @param puzzle {@code Puzzle} to be solved.
+     * @param mode {@code Mode} deciding whether pushes or moves are minimised.
+     * @return {@code Solution} of the search.
+     */
+    public Solution Solve(Puzzle puzzle, Mode mode) {
+        return new Search(puzzle, mode).run();
+    }
+
+    /**
+     * This method moves one crate of a sorted crate array and keeps the copy sorted.
+     * @param crates {@code int[]} sorted cells of the crates.
+     * @param index {@code int} index of the crate in the array.
+     * @param target {@code int} cell the crate moves to.
+     * @return {@code int[]} new sorted array.
+     */
+    static int[] moveCrate(int[] crates, int index, int target) {
+        int[] next = crates.clone();
+        next[index] = target;
+
+        while (index > 0 && next[index - 1] > next[index]) {
+            next[index] = next[index - 1];
+            next[--index] = target;
+        }
+        while (index < next.length - 1 && next[index + 1] < next[index]) {
+            next[index] = next[index + 1];
+            next[++index] = target;
+        }
+
+        return next;
+    }
+
+    /**
+     * Search keeps the open list and the transposition table of one solve,
+     * so a {@code Solver} can be used by several threads at once.
+     */
+    private final class Search {
+
+        private final Expander expander;
+        private final PriorityQueue<SearchNode> open;
+        private final HashSet<StateKey> closed = new HashSet<>();
+        private final List<SearchNode> children = new ArrayList<>();
+
+        /**
+         * This is the only constructor of the Search class.
+         * @param puzzle {@code Puzzle} to be solved.
+         * @param mode {@code Mode} of the search.
+         */
+        Search(Puzzle puzzle, Mode mode) {
+            expander = new Expander(puzzle, mode, heuristic);
+            open = new PriorityQueue<>(Comparator.comparingLong(SearchNode::total)
+                    .thenComparing(Comparator.comparingInt((SearchNode node) -> node.cost).reversed()));
+        }
+
+        /**
+         * This method runs the search until the level is solved,
+         * every reachable state is expanded or the state limit is reached.
+         * @return {@code Solution} of the search.
+         */
+        Solution run() {
+            long startTime = System.nanoTime();
+            SearchNode root = expander.root();
+            if (root == null) {
+                return new Solution(Solution.Status.UNSOLVABLE, "", 0, System.nanoTime() - startTime);
+            }
+            open.add(root);
+
+            long explored = 0;
+            while (!open.isEmpty()) {
+                if (closed.size() + open.size() > maxStates) {
+                    return new Solution(Solution.Status.LIMIT_REACHED, "", explored, System.nanoTime() - startTime);
+                }
+
+                SearchNode node = open.poll();
+                if (closed.add(expander.open(node))) {
+                    explored++;
+                    if (expander.isSolved(node.crates)) {
+                        expander.close(node);
+                        return new Solution(Solution.Status.SOLVED, expander.path(node), explored,
+                                System.nanoTime() - startTime);
+                    }
+
+                    children.clear();
+                    expander.expand(node, children, closed);
+                    open.addAll(children);
+                }
+                expander.close(node);
+            }
+
+            return new Solution(Solution.Status.UNSOLVABLE, "", explored, System.nanoTime() - startTime);
+        }
+    }
+}
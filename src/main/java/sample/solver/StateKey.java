@@ -0,0 +1,60 @@
+package sample.solver;
+
+import sample.start.Zobrist;
+
+import java.util.Arrays;
+
+/**
+ * StateKey identifies a state in the transposition table
+ * by its sorted crate cells and the keeper cell.
+ * For push searches the keeper cell is the smallest cell the keeper can reach,
+ * so every keeper position inside the same area gives the same key.
+ * The hash code is folded from the Zobrist hash, the same one {@code Level.GetZobristHash()} gives.
+ *
+ * @author Shiqi XIN
+ */
+final class StateKey {
+
+    private final int[] crates;
+    private final int keeper;
+    private final int hash;
+
+    /**
+     * This is the only constructor of the StateKey class.
+     * @param crates {@code int[]} sorted cells of the crates, shared with the node.
+     * @param crateHash {@code long} Zobrist hash of the crates.
+     * @param keeper {@code int} cell of the keeper.
+     */
+    StateKey(int[] crates, long crateHash, int keeper) {
+        this.crates = crates;
+        this.keeper = keeper;
+        long zobrist = crateHash ^ Zobrist.KeeperKey(keeper);
+        this.hash = (int) (zobrist ^ (zobrist >>> 32));
+    }
+
+    /**
+     * This method gets the hash code of the key, computed once.
+     * @return {@code int hash}.
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * This method checks whether two keys describe the same state.
+     * @param o {@code Object} to compare with.
+     * @return {@code true} if the crates and keeper are the same, else {@code false}.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StateKey)) {
+            return false;
+        }
+        StateKey other = (StateKey) o;
+        return hash == other.hash && keeper == other.keeper && Arrays.equals(crates, other.crates);
+    }
+}
@@ -0,0 +1,305 @@
+package sample.start;
+
+import sample.logger.GameLogger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AutosaveJournal keeps the game safe from a crash without ever writing on the thread that plays.
+ * It keeps a snapshot, a {@code GameSave} of a level with its steps,
+ * and a journal of the steps and undos made since then, one byte each.
+ * Records are only put in a queue by the game, and a background writer
+ * appends them to the journal in batches and forces them to the disk,
+ * so at most one batch is lost when the game stops unexpectedly.
+ * A new snapshot replaces the journal when the level changes or the journal grows long.
+ * The snapshot and the journal share a generation number,
+ * so a journal left behind by a crash during compaction is never replayed on the wrong snapshot.
+ *
+ * @author Shiqi XIN
+ */
+public final class AutosaveJournal implements Closeable {
+
+    public static final int UNDO = 8;
+
+    private static final int MAGIC = 0x534B424A;
+    private static final int HEADERSIZE = Integer.BYTES + Long.BYTES;
+    private static final int BATCHSIZE = 16;
+    private static final long FLUSHMILLIS = 250;
+    private static final Object CLEAR = new Object();
+    private static final Object CLOSE = new Object();
+
+    private final File snapshotFile;
+    private final File snapshotTemp;
+    private final File journalFile;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private FileChannel journal;
+    private long generation = 0;
+
+    /**
+     * This is the only constructor of the AutosaveJournal class.
+     * It starts the background writer, which writes nothing until the first snapshot.
+     * The generation goes on from the files left by a previous session, even if they cannot be recovered,
+     * so an old journal never matches a new snapshot.
+     * @param directory {@code File} folder of the snapshot and the journal, created if needed.
+     */
+    public AutosaveJournal(File directory) {
+        directory.mkdirs();
+        snapshotFile = new File(directory, "snapshot.skbs");
+        snapshotTemp = new File(directory, "snapshot.tmp");
+        journalFile = new File(directory, "journal.bin");
+        generation = Math.max(readGeneration(snapshotFile, 0), readGeneration(journalFile, Integer.BYTES));
+
+        writer = new Thread(this::run, "AutosaveJournal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * This method puts the game back to the position saved by a previous session.
+     * It restores the snapshot on the game and replays the journal of the same generation.
+     * It must be called before the game is given to {@code GameEngine.SetJournal()}.
+     * @param gameEngine {@code GameEngine} that has just opened the pack of the snapshot.
+     * @return {@code boolean} true if a position was recovered.
+     */
+    public boolean Recover(GameEngine gameEngine) {
+        if (!snapshotFile.exists()) {
+            return false;
+        }
+
+        try {
+            ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotFile.toPath()));
+            long snapshotGeneration = snapshot.getLong();
+            byte[] save = new byte[snapshot.remaining()];
+            snapshot.get(save);
+            if (!gameEngine.RestoreSave(GameSave.FromBytes(save))) {
+                return false;
+            }
+            generation = Math.max(generation, snapshotGeneration);
+
+            if (journalFile.exists()) {
+                ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(journalFile.toPath()));
+                if (records.remaining() >= HEADERSIZE && records.getInt() == MAGIC
+                        && records.getLong() == snapshotGeneration) {
+                    while (records.hasRemaining()) {
+                        int record = records.get();
+                        if (record == UNDO) {
+                            gameEngine.Undo();
+                        } else {
+                            gameEngine.Move(Direction.values()[record & 3]);
+                        }
+                    }
+                }
+            }
+            return true;
+        } catch (IOException | BufferUnderflowException e) {
+            GameLogger.GetGameLogger().warning("Cannot recover the autosave: " + e);
+            return false;
+        }
+    }
+
+    /**
+     * This method reads the generation written at the start of the snapshot or of the journal.
+     * The generation of the journal is only read after its {@code MAGIC} number.
+     * @param file {@code File} snapshot or journal.
+     * @param offset {@code int} position of the generation in the file.
+     * @return {@code long} generation, or 0 if the file is missing or cannot be read.
+     */
+    private static long readGeneration(File file, int offset) {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        ByteBuffer head = ByteBuffer.allocate(offset + Long.BYTES);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            int read = 0;
+            while (head.hasRemaining() && read >= 0) {
+                read = channel.read(head);
+            }
+        } catch (IOException e) {
+            GameLogger.GetGameLogger().warning("Cannot read the autosave generation: " + e);
+            return 0;
+        }
+        if (head.hasRemaining() || (offset > 0 && head.getInt(0) != MAGIC)) {
+            return 0;
+        }
+        return head.getLong(offset);
+    }
+
+    /**
+     * This method adds one record to the journal, without waiting for it to be written.
+     * @param record {@code int} a step made by the keeper, or {@code UNDO}.
+     */
+    public void Append(int record) {
+        queue.offer(record);
+    }
+
+    /**
+     * This method replaces the snapshot and empties the journal, without waiting for it to be written.
+     * @param save {@code GameSave} of the current level with its steps.
+     */
+    public void Snapshot(GameSave save) {
+        queue.offer(save);
+    }
+
+    /**
+     * This method deletes the snapshot and the journal, once the game is over.
+     */
+    public void Clear() {
+        queue.offer(CLEAR);
+    }
+
+    /**
+     * This method writes every record still in the queue and stops the background writer.
+     */
+    @Override
+    public void close() {
+        queue.offer(CLOSE);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This method is the loop of the background writer.
+     * It waits for a record, collects the ones that follow for a short time,
+     * and writes them all at once.
+     */
+    private void run() {
+        List<Object> batch = new ArrayList<>(BATCHSIZE);
+        ByteBuffer records = ByteBuffer.allocate(BATCHSIZE);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSHMILLIS);
+                while (batch.size() < BATCHSIZE && batch.get(batch.size() - 1) instanceof Integer) {
+                    Object entry = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (entry == null) {
+                        break;
+                    }
+                    batch.add(entry);
+                }
+
+                boolean isClosed = write(batch, records);
+                batch.clear();
+                if (isClosed) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This method writes a batch of entries in order.
+     * @param batch {@code List<Object>} records, snapshots and commands taken from the queue.
+     * @param records {@code ByteBuffer} used to collect the records of the batch.
+     * @return {@code boolean} true if the journal was closed.
+     */
+    private boolean write(List<Object> batch, ByteBuffer records) {
+        try {
+            records.clear();
+            for (Object entry : batch) {
+                if (entry instanceof Integer) {
+                    records.put((byte) (int) (Integer) entry);
+                } else if (entry instanceof GameSave) {
+                    writeSnapshot((GameSave) entry);
+                    records.clear();
+                } else if (entry == CLEAR) {
+                    clear();
+                    records.clear();
+                } else if (entry == CLOSE) {
+                    appendRecords(records);
+                    if (journal != null) {
+                        journal.close();
+                    }
+                    return true;
+                }
+            }
+            appendRecords(records);
+        } catch (IOException e) {
+            GameLogger.GetGameLogger().severe("Cannot write the autosave: " + e);
+        }
+        return false;
+    }
+
+    /**
+     * This method appends records to the journal and forces them to the disk.
+     * Records are dropped while there is no snapshot to replay them on.
+     * @param records {@code ByteBuffer} of the records, one byte each.
+     * @throws IOException when the journal cannot be written.
+     */
+    private void appendRecords(ByteBuffer records) throws IOException {
+        records.flip();
+        if (journal == null || !records.hasRemaining()) {
+            return;
+        }
+        while (records.hasRemaining()) {
+            journal.write(records);
+        }
+        journal.force(false);
+    }
+
+    /**
+     * This method writes a new snapshot with the next generation,
+     * moves it over the old one in one step and starts an empty journal for it.
+     * @param save {@code GameSave} of the current level with its steps.
+     * @throws IOException when the snapshot or the journal cannot be written.
+     */
+    private void writeSnapshot(GameSave save) throws IOException {
+        generation++;
+        byte[] bytes = save.ToBytes();
+        ByteBuffer snapshot = ByteBuffer.allocate(Long.BYTES + bytes.length);
+        snapshot.putLong(generation).put(bytes).flip();
+        try (FileChannel channel = FileChannel.open(snapshotTemp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (snapshot.hasRemaining()) {
+                channel.write(snapshot);
+            }
+            channel.force(true);
+        }
+        Files.move(snapshotTemp.toPath(), snapshotFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (journal == null) {
+            journal = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        journal.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADERSIZE);
+        header.putInt(MAGIC).putLong(generation).flip();
+        journal.position(0);
+        while (header.hasRemaining()) {
+            journal.write(header);
+        }
+        journal.force(true);
+    }
+
+    /**
+     * This method deletes the snapshot and the journal.
+     * @throws IOException when a file cannot be deleted.
+     */
+    private void clear() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+        Files.deleteIfExists(snapshotFile.toPath());
+        Files.deleteIfExists(journalFile.toPath());
+    }
+}
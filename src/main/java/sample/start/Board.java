@@ -0,0 +1,308 @@
+package sample.start;
+
+import sample.objects.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * Board saves a level as bit flags packed into one flat byte array.
+ * Every cell is a single byte holding a wall, goal, crate and keeper bit,
+ * so reading a cell is a plain indexed load instead of walking object grids.
+ * The cell of row {@code r} and column {@code c} is stored at {@code r * COLUMNS + c}.
+ *
+ * @author Shiqi XIN
+ */
+public final class Board {
+
+    public static final byte WALL = 1;
+    public static final byte GOAL = 2;
+    public static final byte CRATE = 4;
+    public static final byte KEEPER = 8;
+    private static final byte OBJECT_MASK = WALL | CRATE | KEEPER;
+
+    public static final int UP = 0;
+    public static final int RIGHT = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 3;
+    public static final int PUSH = 4;
+    public static final int BLOCKED = -1;
+
+    final int ROWS;
+    final int COLUMNS;
+    private final byte[] cells;
+    private final int[] offsets;
+
+    /**
+     * This is the only constructor of the Board class.
+     * Every cell starts as a wall, so cells missing from a ragged level are never walkable.
+     * @param rows {@code int rows} of the board.
+     * @param columns {@code int columns} of the board.
+     */
+    public Board(int rows, int columns) {
+        ROWS = rows;
+        COLUMNS = columns;
+
+        cells = new byte[rows * columns];
+        Arrays.fill(cells, WALL);
+        offsets = new int[] {-columns, 1, columns, -1};
+    }
+
+    /**
+     * This method gets the number of rows of the board.
+     * @return {@code int ROWS}.
+     */
+    public int GetRows() {
+        return ROWS;
+    }
+
+    /**
+     * This method gets the number of columns of the board.
+     * @return {@code int COLUMNS}.
+     */
+    public int GetColumns() {
+        return COLUMNS;
+    }
+
+    /**
+     * This method gets the number of cells of the board.
+     * @return {@code int} length of the cell array.
+     */
+    public int GetSize() {
+        return cells.length;
+    }
+
+    /**
+     * This method converts a row and a column to the index of the cell.
+     * @param row {@code int row}.
+     * @param column {@code int column}.
+     * @return {@code int} index of the cell.
+     * @throws ArrayIndexOutOfBoundsException if the point is out of bound.
+     */
+    public int IndexOf(int row, int column) throws ArrayIndexOutOfBoundsException {
+        if (row < 0 || column < 0 || row >= ROWS || column >= COLUMNS) {
+            throw new ArrayIndexOutOfBoundsException("The point [" + row + ":" + column + "] is outside the map.");
+        }
+
+        return row * COLUMNS + column;
+    }
+
+    /**
+     * This method gets the index offset of a direction.
+     * @param direction {@code int} one of {@code UP}, {@code RIGHT}, {@code DOWN} and {@code LEFT}.
+     * @return {@code int} offset to add to an index to move one cell in that direction.
+     */
+    public int Offset(int direction) {
+        return offsets[direction];
+    }
+
+    /**
+     * This method gets the index of the neighbour of a cell in a direction.
+     * @param index {@code int} index of the cell.
+     * @param direction {@code int} one of {@code UP}, {@code RIGHT}, {@code DOWN} and {@code LEFT}.
+     * @return {@code int} index of the neighbour, or {@code BLOCKED} if it is outside the board.
+     */
+    public int Neighbour(int index, int direction) {
+        int column = index % COLUMNS;
+        int neighbour = index + offsets[direction];
+
+        if (neighbour < 0 || neighbour >= cells.length
+                || (direction == LEFT && column == 0)
+                || (direction == RIGHT && column == COLUMNS - 1)) {
+            return BLOCKED;
+        }
+
+        return neighbour;
+    }
+
+    /**
+     * This method gets the opposite of a direction.
+     * @param direction {@code int} one of {@code UP}, {@code RIGHT}, {@code DOWN} and {@code LEFT}.
+     * @return {@code int} the opposite direction.
+     */
+    public static int Opposite(int direction) {
+        return (direction + 2) & 3;
+    }
+
+    /**
+     * This method gets the flags of a cell.
+     * @param index {@code int} index of the cell.
+     * @return {@code byte} flags of the cell.
+     */
+    public byte GetCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * This method checks whether a cell has all the given flags.
+     * @param index {@code int} index of the cell.
+     * @param flags {@code int} flags to check.
+     * @return {@code true} if every flag is set, else {@code false}.
+     */
+    public boolean Has(int index, int flags) {
+        return (cells[index] & flags) == flags;
+    }
+
+    /**
+     * This method sets the flags of a cell.
+     * @param index {@code int} index of the cell.
+     * @param flags {@code int} flags to set.
+     */
+    void setFlags(int index, int flags) {
+        cells[index] |= flags;
+    }
+
+    /**
+     * This method clears the flags of a cell.
+     * @param index {@code int} index of the cell.
+     * @param flags {@code int} flags to clear.
+     */
+    void clearFlags(int index, int flags) {
+        cells[index] &= ~flags;
+    }
+
+    /**
+     * This method copies the flags of every cell, to restore them later.
+     * @return {@code byte[]} copy of the cells.
+     */
+    byte[] copyCells() {
+        return cells.clone();
+    }
+
+    /**
+     * This method puts back the flags of every cell from a copy, in one array copy.
+     * @param copy {@code byte[]} returned by {@code copyCells()} on this board.
+     */
+    void restoreCells(byte[] copy) {
+        System.arraycopy(copy, 0, cells, 0, cells.length);
+    }
+
+    /**
+     * This method gets the {@code GameObject} of a cell without its goal,
+     * which is what the objects grid used to hold.
+     * @param index {@code int} index of the cell.
+     * @return {@code GameObject} at the cell.
+     */
+    public GameObject GetObjectAt(int index) {
+        byte cell = cells[index];
+        if ((cell & WALL) != 0) {
+            return GameObject.WALL;
+        } else if ((cell & CRATE) != 0) {
+            return GameObject.CRATE;
+        } else if ((cell & KEEPER) != 0) {
+            return GameObject.KEEPER;
+        }
+        return GameObject.FLOOR;
+    }
+
+    /**
+     * This method gets the {@code GameObject} of a cell together with its goal.
+     * It returns {@code GameObject.CRATE_ON_DIAMOND}, {@code GameObject.KEEPER_ON_DIAMOND}
+     * or {@code GameObject.DIAMOND} when the cell is a goal.
+     * @param index {@code int} index of the cell.
+     * @return {@code GameObject} at the cell.
+     */
+    public GameObject GetTileAt(int index) {
+        GameObject object = GetObjectAt(index);
+        if ((cells[index] & GOAL) == 0) {
+            return object;
+        }
+
+        switch (object) {
+            case CRATE:
+                return GameObject.CRATE_ON_DIAMOND;
+
+            case KEEPER:
+                return GameObject.KEEPER_ON_DIAMOND;
+
+            case FLOOR:
+                return GameObject.DIAMOND;
+
+            default:
+                return object;
+        }
+    }
+
+    /**
+     * This method puts the {@code GameObject} at a cell.
+     * The goal flag of the cell is kept, the other flags are replaced.
+     * @param object {@code GameObject} to be put.
+     * @param index {@code int} index of the cell.
+     */
+    void putObjectAt(GameObject object, int index) {
+        cells[index] = (byte) ((cells[index] & ~OBJECT_MASK) | FlagsOf(object));
+    }
+
+    /**
+     * This method converts a {@code GameObject} to the flags of a cell.
+     * @param object {@code GameObject} to be converted.
+     * @return {@code byte} flags representing the object.
+     */
+    public static byte FlagsOf(GameObject object) {
+        switch (object) {
+            case FLOOR:
+                return 0;
+
+            case CRATE:
+                return CRATE;
+
+            case DIAMOND:
+                return GOAL;
+
+            case KEEPER:
+                return KEEPER;
+
+            case CRATE_ON_DIAMOND:
+                return CRATE | GOAL;
+
+            case KEEPER_ON_DIAMOND:
+                return KEEPER | GOAL;
+
+            default:
+                return WALL;
+        }
+    }
+
+    /**
+     * Print the objects of the board as String, one line per row.
+     * @param withGoals {@code true} to print goals and objects on goals.
+     * @return {@code String} converted from the board.
+     */
+    String toString(boolean withGoals) {
+        StringBuilder sb = new StringBuilder(cells.length + ROWS);
+
+        for (int index = 0; index < cells.length; index++) {
+            GameObject object = withGoals ? GetTileAt(index) : GetObjectAt(index);
+            sb.append(object.GetCharSymbol());
+
+            if ((index + 1) % COLUMNS == 0) {
+                sb.append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * This method gets a 64-bit FNV-1a hash of the size and the cells of the board.
+     * Two boards with the same walls, diamonds, crates and keeper have the same fingerprint.
+     * @return {@code long} fingerprint of the board.
+     */
+    public long Fingerprint() {
+        long hash = 0xCBF29CE484222325L;
+        hash = (hash ^ ROWS) * 0x100000001B3L;
+        hash = (hash ^ COLUMNS) * 0x100000001B3L;
+        for (byte cell : cells) {
+            hash = (hash ^ (cell & 0xFF)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Print the objects of the board as String without goals.
+     * @return {@code String} converted from the board.
+     */
+    @Override
+    public String toString() {
+        return toString(false);
+    }
+}
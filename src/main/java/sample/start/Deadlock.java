@@ -0,0 +1,298 @@
+package sample.start;
+
+import java.util.BitSet;
+
+/**
+ * Deadlock finds states that can never be completed after a crate is pushed.
+ * It looks for crates pushed onto dead squares,
+ * frozen crates that can never move again and are not on a diamond,
+ * and corrals the keeper can never enter again that hold a crate off a diamond
+ * or a diamond without a crate.
+ * Only the pushed crate and the crates touching it are checked, so a push costs very little.
+ * The crates are read from an array or from the flags of a board.
+ * A Deadlock keeps scratch arrays, so every thread needs its own copy from {@code Copy()}.
+ *
+ * @author Shiqi XIN
+ */
+public final class Deadlock {
+
+    /**
+     * Reason tells why a state can never be completed.
+     * NONE means no deadlock was found.
+     */
+    public enum Reason {
+        NONE,
+        DEAD_SQUARE,
+        FREEZE,
+        CORRAL
+    }
+
+    private final int[] neighbours;
+    private final boolean[] goals;
+    private final BitSet deadSquares;
+    private final boolean balanced;
+    private final boolean[] checking;
+    private final int[] frozen;
+    private final int[] reached;
+    private final int[] corral;
+    private final int[] queue;
+    private int frozenSize = 0;
+    private int reachMark = 0;
+    private boolean[] crateArray;
+    private Board crateBoard;
+
+    /**
+     * This is the constructor of the Deadlock class.
+     * It copies the walls and diamonds of the board, which never change.
+     * @param board {@code Board} of the level.
+     * @param deadSquares {@code BitSet} dead squares of the level.
+     * @param balanced {@code boolean} true if there are as many crates as diamonds.
+     * Nothing is reported otherwise, because some crates never need to reach a diamond.
+     */
+    public Deadlock(Board board, BitSet deadSquares, boolean balanced) {
+        int size = board.GetSize();
+        neighbours = new int[size * 4];
+        goals = new boolean[size];
+
+        for (int cell = 0; cell < size; cell++) {
+            goals[cell] = board.Has(cell, Board.GOAL);
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                int neighbour = board.Neighbour(cell, direction);
+                if (neighbour != Board.BLOCKED && board.Has(neighbour, Board.WALL)) {
+                    neighbour = Board.BLOCKED;
+                }
+                neighbours[cell * 4 + direction] = neighbour;
+            }
+        }
+
+        this.deadSquares = (BitSet) deadSquares.clone();
+        this.balanced = balanced;
+        checking = new boolean[size];
+        frozen = new int[size];
+        reached = new int[size];
+        corral = new int[size];
+        queue = new int[size];
+    }
+
+    /**
+     * This constructor shares the tables of another Deadlock but not its scratch arrays.
+     * @param other {@code Deadlock} to share the tables with.
+     */
+    private Deadlock(Deadlock other) {
+        int size = other.goals.length;
+        neighbours = other.neighbours;
+        goals = other.goals;
+        deadSquares = other.deadSquares;
+        balanced = other.balanced;
+        checking = new boolean[size];
+        frozen = new int[size];
+        reached = new int[size];
+        corral = new int[size];
+        queue = new int[size];
+    }
+
+    /**
+     * This method creates a Deadlock for another thread.
+     * @return {@code Deadlock} with the same tables and its own scratch arrays.
+     */
+    public Deadlock Copy() {
+        return new Deadlock(this);
+    }
+
+    /**
+     * This method checks whether the state after a push can never be completed,
+     * with the crates kept in an array, as the solver does.
+     * @param crates {@code boolean[]} true for every cell with a crate, after the push.
+     * @param crate {@code int} cell the crate was pushed to.
+     * @param keeper {@code int} cell of the keeper after the push.
+     * @return {@code Reason} of the deadlock, or {@code Reason.NONE}.
+     */
+    public Reason CheckPush(boolean[] crates, int crate, int keeper) {
+        crateArray = crates;
+        Reason reason = checkPush(crate, keeper);
+        crateArray = null;
+        return reason;
+    }
+
+    /**
+     * This method checks whether the state after a push can never be completed,
+     * with the crates read from the {@code Board.CRATE} flags of the board, as a level does.
+     * @param board {@code Board} of the level, after the push.
+     * @param crate {@code int} cell the crate was pushed to.
+     * @param keeper {@code int} cell of the keeper after the push.
+     * @return {@code Reason} of the deadlock, or {@code Reason.NONE}.
+     */
+    public Reason CheckPush(Board board, int crate, int keeper) {
+        crateBoard = board;
+        Reason reason = checkPush(crate, keeper);
+        crateBoard = null;
+        return reason;
+    }
+
+    /**
+     * This method checks whether the state after a push can never be completed,
+     * with the crates given to {@code CheckPush()}.
+     * @param crate {@code int} cell the crate was pushed to.
+     * @param keeper {@code int} cell of the keeper after the push.
+     * @return {@code Reason} of the deadlock, or {@code Reason.NONE}.
+     */
+    private Reason checkPush(int crate, int keeper) {
+        if (!balanced) {
+            return Reason.NONE;
+        }
+        if (deadSquares.get(crate)) {
+            return Reason.DEAD_SQUARE;
+        }
+
+        frozenSize = 0;
+        if (!isFrozen(crate)) {
+            return Reason.NONE;
+        }
+        if (!frozenOnGoals()) {
+            return Reason.FREEZE;
+        }
+
+        // The pushed crate touches the keeper, so it is on the border of every corral it closes.
+        return isClosedCorral(crate, keeper) ? Reason.CORRAL : Reason.NONE;
+    }
+
+    /**
+     * This method checks whether a cell has a crate, in the array or on the board given to {@code CheckPush()}.
+     * @param cell {@code int} cell to be checked.
+     * @return {@code true} if the cell has a crate, else {@code false}.
+     */
+    private boolean hasCrate(int cell) {
+        return crateArray != null ? crateArray[cell] : crateBoard.Has(cell, Board.CRATE);
+    }
+
+    /**
+     * This method checks whether a crate can never move again.
+     * A crate is frozen when it is blocked both vertically and horizontally.
+     * Crates found frozen are added to {@code frozen}.
+     * @param cell {@code int} cell of the crate.
+     * @return {@code true} if the crate is frozen, else {@code false}.
+     */
+    private boolean isFrozen(int cell) {
+        int start = frozenSize;
+        // The crate counts as a wall while its neighbours are checked, which stops the recursion.
+        checking[cell] = true;
+        boolean isFrozen = isBlocked(cell, Board.UP) && isBlocked(cell, Board.LEFT);
+        checking[cell] = false;
+
+        if (!isFrozen) {
+            frozenSize = start;
+        } else if (frozenSize < frozen.length) {
+            frozen[frozenSize++] = cell;
+        }
+        return isFrozen;
+    }
+
+    /**
+     * This method checks whether a crate can never move along one axis.
+     * It is blocked by a wall on either side, by a frozen crate on either side,
+     * or by dead squares on both sides.
+     * @param cell {@code int} cell of the crate.
+     * @param direction {@code int} {@code Board.UP} for the vertical axis, {@code Board.LEFT} for the horizontal one.
+     * @return {@code true} if the crate is blocked, else {@code false}.
+     */
+    private boolean isBlocked(int cell, int direction) {
+        int before = neighbours[cell * 4 + direction];
+        int after = neighbours[cell * 4 + Board.Opposite(direction)];
+
+        if (before == Board.BLOCKED || after == Board.BLOCKED || checking[before] || checking[after]) {
+            return true;
+        }
+        if (deadSquares.get(before) && deadSquares.get(after)) {
+            return true;
+        }
+        return (hasCrate(before) && isFrozen(before)) || (hasCrate(after) && isFrozen(after));
+    }
+
+    /**
+     * This method checks whether every crate in {@code frozen} is on a diamond.
+     * @return {@code true} if they all are, else {@code false}.
+     */
+    private boolean frozenOnGoals() {
+        for (int i = 0; i < frozenSize; i++) {
+            if (!goals[frozen[i]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method checks whether a crate closes off a corral that can never be completed.
+     * The corral is every cell next to the crate the keeper cannot walk to.
+     * It is closed when every crate between it and the keeper is frozen,
+     * and it can never be completed if it holds a crate off a diamond or a diamond without a crate.
+     * @param crate {@code int} cell of a frozen crate next to the keeper.
+     * @param keeper {@code int} cell of the keeper.
+     * @return {@code true} if the corral can never be completed, else {@code false}.
+     */
+    private boolean isClosedCorral(int crate, int keeper) {
+        reach(keeper);
+
+        int head = 0;
+        int tail = 0;
+        boolean complete = true;
+        reached[crate] = reachMark;
+        corral[tail++] = crate;
+
+        while (head < tail) {
+            int cell = corral[head++];
+            complete &= hasCrate(cell) == goals[cell];
+
+            boolean border = false;
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                int next = neighbours[cell * 4 + direction];
+                if (next == Board.BLOCKED) {
+                    continue;
+                }
+                if (reached[next] == reachMark + 1) {
+                    border = true;
+                } else if (reached[next] != reachMark) {
+                    reached[next] = reachMark;
+                    corral[tail++] = next;
+                }
+            }
+
+            if (border && cell != crate) {
+                frozenSize = 0;
+                if (!isFrozen(cell)) {
+                    return false;
+                }
+                if (!frozenOnGoals()) {
+                    return true;
+                }
+            }
+        }
+
+        return !complete;
+    }
+
+    /**
+     * This method marks every cell the keeper can walk to with {@code reachMark + 1}.
+     * Cells of the corral are marked with {@code reachMark} afterwards.
+     * @param keeper {@code int} cell of the keeper.
+     */
+    private void reach(int keeper) {
+        reachMark += 2;
+        int walked = reachMark + 1;
+        int head = 0;
+        int tail = 0;
+        reached[keeper] = walked;
+        queue[tail++] = keeper;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                int next = neighbours[cell * 4 + direction];
+                if (next != Board.BLOCKED && !hasCrate(next) && reached[next] != walked) {
+                    reached[next] = walked;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+}
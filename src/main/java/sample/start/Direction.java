@@ -0,0 +1,63 @@
+package sample.start;
+
+/**
+ * Direction defines the four directions the keeper can move in.
+ * It replaces the JavaFX {@code KeyCode} in the game engine,
+ * and each direction has the letter used for it in LURD solutions.
+ *
+ * @author Shiqi XIN
+ */
+public enum Direction {
+    UP(Board.UP, 'u'),
+    RIGHT(Board.RIGHT, 'r'),
+    DOWN(Board.DOWN, 'd'),
+    LEFT(Board.LEFT, 'l');
+
+    private static final Direction[] BYSYMBOL = new Direction[128];
+
+    static {
+        for (Direction direction : values()) {
+            BYSYMBOL[direction.SYMBOL] = direction;
+            BYSYMBOL[Character.toUpperCase(direction.SYMBOL)] = direction;
+        }
+    }
+
+    private final int INDEX;
+    private final char SYMBOL;
+
+    /**
+     * This is the only constructor of the Direction class.
+     * @param index {@code int} direction on the {@code Board}.
+     * @param symbol {@code char} LURD letter of the direction.
+     */
+    Direction(final int index, final char symbol) {
+        INDEX = index;
+        SYMBOL = symbol;
+    }
+
+    /**
+     * This method finds the Direction that matches a LURD letter, in either case.
+     * It reads a table, so it creates no object and can be called for every step of a replay.
+     * @param c {@code char} LURD letter.
+     * @return the Direction of the letter, or {@code null} if it is not a LURD letter.
+     */
+    public static Direction FromChar(char c) {
+        return c < BYSYMBOL.length ? BYSYMBOL[c] : null;
+    }
+
+    /**
+     * This method gets the direction on the {@code Board}.
+     * @return {@code int} one of {@code Board.UP}, {@code Board.RIGHT}, {@code Board.DOWN} and {@code Board.LEFT}.
+     */
+    public int GetIndex() {
+        return INDEX;
+    }
+
+    /**
+     * This method gets the LURD letter of the direction.
+     * @return {@code char SYMBOL} in lower case.
+     */
+    public char GetCharSymbol() {
+        return SYMBOL;
+    }
+}
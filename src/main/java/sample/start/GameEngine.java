@@ -0,0 +1,760 @@
+package sample.start;
+
+import sample.logger.GameLogger;
+
+import java.io.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * GameEngine is the game engine of this game without any user interface.
+ * It loads the levels, moves the keeper, undoes, resets and saves the game,
+ * and only needs the Java standard library, so it can run in a headless JVM without JavaFX.
+ * The logger is only created when there is something to log.
+ * {@code StartMeUp} adds the keyboard and the music for the JavaFX game.
+ *
+ * @author Shiqi XIN
+ */
+public class GameEngine {
+
+    /**
+     * PushRule defines what happens when the keeper pushes a crate onto a dead square.
+     * ALLOW lets the push happen, WARN lets it happen but flags it, REFUSE blocks it.
+     */
+    public enum PushRule {
+        ALLOW,
+        WARN,
+        REFUSE
+    }
+
+    public static final String GAME_NAME = "BestSokobanEverV6";
+    private static boolean m_debug = false;
+    private Level currentLevel;
+    private Level completedLevel;
+    private String mapSetName = "";
+    private LevelReader levelReader;
+    private final ArrayDeque<LevelReader.Block> levelsLeft = new ArrayDeque<>();
+    private LevelLibrary levelLibrary;
+    private boolean gameComplete = false;
+    private boolean levelComplete = false;
+    private int movesCount = 0;
+    private int movesCountLevel = 0;
+    private int timeLevel = 0;
+    private int timeTotal = 0;
+    private int levelNumber = -1;
+    private boolean isLevelLoad = false;
+    private final StepHistory stepHistory = new StepHistory();
+    private boolean historyFromStart = true;
+    private PushRule pushRule = PushRule.ALLOW;
+    private boolean deadPush = false;
+    private Deadlock.Reason deadlock = Deadlock.Reason.NONE;
+    private int deadlockStep = 0;
+    private final BitSet dirtyCells = new BitSet();
+    private boolean fullRedraw = true;
+    private final int COMPACTRECORDS = 256;
+    private AutosaveJournal journal;
+    private int journalRecords = 0;
+
+    /**
+     * This is the constructor of the GameEngine class for a text game file.
+     * It loads the game file and gets the current level.
+     * @param input inputStream of game levels.
+     */
+    public GameEngine(InputStream input) {
+        try {
+            levelReader = openGameFile(input);
+            currentLevel = GetNextLevel();
+        } catch (NoSuchElementException e) {
+            GameLogger.GetGameLogger().warning("Cannot load the default save file: " + e.getStackTrace());
+        } catch (UncheckedIOException e) {
+            GameLogger.GetGameLogger().severe("Error trying to load the game file: " + e);
+        } catch (NullPointerException e) {
+            GameLogger.GetGameLogger().severe("Cannot open the requested file: " + e);
+        }
+    }
+
+    /**
+     * This is the constructor of the GameEngine class for a binary {@code LevelLibrary}.
+     * The levels are decoded from the mapped library when they are played.
+     * @param library {@code LevelLibrary} of the game.
+     */
+    public GameEngine(LevelLibrary library) {
+        levelLibrary = library;
+        mapSetName = library.GetMapSetName();
+        try {
+            currentLevel = GetNextLevel();
+        } catch (NoSuchElementException e) {
+            GameLogger.GetGameLogger().warning("The level library has no level: " + e.getStackTrace());
+        }
+    }
+
+    /**
+     * This method checks whether debug is active.
+     * @return {boolean m_debug} which is true when debug is active, false otherwise.
+     */
+    public static boolean IsDebugActive() {
+        return m_debug;
+    }
+
+    /**
+     * This method is used to get the total moves count.
+     * @return {@code int movesCount}.
+     */
+    public int GetMovesCount() {
+        return movesCount;
+    }
+
+    /**
+     * This method is used to get the moves count of the current level.
+     * @return {@code int movesCountLevel}.
+     */
+    public int GetMovesCountLevel() {
+        return movesCountLevel;
+    }
+
+    /**
+     * This method is used to get the time of the current level.
+     * @return {@code int timeLevel}.
+     */
+    public int GetTimeLevel() {
+        return timeLevel;
+    }
+
+    /**
+     * This method is used to get the total time.
+     * @return {@code int timeTotal}.
+     */
+    public int GetTimeTotal() {
+        return timeTotal;
+    }
+
+    /**
+     * This method is used to set the times kept by the user interface,
+     * so the next autosave snapshot has them.
+     * @param timeLevel {@code int} time of the current level in seconds.
+     * @param timeTotal {@code int} total time in seconds.
+     */
+    public void SetTime(int timeLevel, int timeTotal) {
+        this.timeLevel = timeLevel;
+        this.timeTotal = timeTotal;
+    }
+
+    /**
+     * This method is used to set the moves count of the current level to 0.
+     */
+    public void ResetMovesCountLevel() {
+        movesCountLevel = 0;
+    }
+
+    /**
+     * This method is used to get the map set name.
+     * @return {@code String} of the map set name.
+     */
+    public String GetMapSetName() {
+        return mapSetName;
+    }
+
+    /**
+     * This method first checks whether the game is complete, if it is, return.
+     * Otherwise, it moves the keeper in the direction and pushes the crate in front of it.
+     * The step is saved in {@code stepHistory} in three bits, so no object is created per move.
+     * @param direction {@code Direction} to move to.
+     * @return {@code boolean} true if the keeper moved, false otherwise.
+     */
+    public boolean Move(Direction direction) {
+        if (IsGameComplete()) {
+            return false;
+        }
+
+        if (IsDebugActive()) {
+            System.out.println("Current level state:");
+            System.out.println(currentLevel.toString());
+            System.out.println("Keeper pos: " + currentLevel.getKeeperPosition());
+            System.out.println("Movement direction: " + direction);
+        }
+
+        deadPush = pushRule != PushRule.ALLOW && currentLevel.isDeadPush(direction.GetIndex());
+        if (deadPush) {
+            if (IsDebugActive()) {
+                System.out.println("Crate pushed onto a dead square.");
+            }
+            if (pushRule == PushRule.REFUSE) {
+                return false;
+            }
+        }
+
+        int step = currentLevel.moveKeeper(direction.GetIndex());
+        if (step == Board.BLOCKED) {
+            return false;
+        }
+
+        stepHistory.Push(step);
+        afterStep(step);
+        return true;
+    }
+
+    /**
+     * This method makes again the last step undone, while no other step was made since.
+     * If the keeper cannot make the same step again, the steps to redo are forgotten,
+     * so the history, the counters and the journal keep following the board.
+     * @return {@code int} 1 if a step was redone, 0 otherwise.
+     */
+    public int Redo() {
+        if (IsGameComplete() || !stepHistory.CanRedo()) {
+            return 0;
+        }
+
+        int step = stepHistory.Redo();
+        if (currentLevel.moveKeeper(step & 3) != step) {
+            stepHistory.DropRedo();
+            return 0;
+        }
+        afterStep(step);
+        return 1;
+    }
+
+    /**
+     * This method updates the game after the keeper made a step:
+     * the cells to draw, the deadlock, the counters, the journal and the level completion.
+     * @param step {@code int} step returned by {@code Level.moveKeeper()}, already in {@code stepHistory}.
+     */
+    private void afterStep(int step) {
+        markStep(step);
+
+        if (deadlock == Deadlock.Reason.NONE) {
+            deadlock = currentLevel.checkDeadlock(step);
+            deadlockStep = stepHistory.GetSize();
+            if (deadlock != Deadlock.Reason.NONE && IsDebugActive()) {
+                System.out.println("Level can no longer be completed: " + deadlock);
+            }
+        }
+
+        movesCount++;
+        movesCountLevel++;
+        if (currentLevel.isComplete()) {
+            if (IsDebugActive()) {
+                System.out.println("Level complete!");
+            }
+            levelComplete = true;
+            completedLevel = currentLevel;
+            levelNumber++;
+            currentLevel = GetNextLevel();
+            fullRedraw = true;
+            snapshot();
+        } else {
+            journal(step);
+        }
+    }
+
+    /**
+     * This method marks the cells a step changes, while the keeper stands where the step ended.
+     * These are the cell the keeper left, the cell it stands on, and the crate cell after a push.
+     * @param step {@code int} step returned by {@code Level.moveKeeper()}.
+     */
+    private void markStep(int step) {
+        int keeper = currentLevel.GetKeeperIndex();
+        int offset = currentLevel.GetBoard().Offset(step & 3);
+        dirtyCells.set(keeper - offset);
+        dirtyCells.set(keeper);
+        if ((step & Board.PUSH) != 0) {
+            dirtyCells.set(keeper + offset);
+        }
+    }
+
+    /**
+     * This method marks a cell of the current level to be drawn again.
+     * @param cell {@code int} index of the cell on the board.
+     */
+    void markDirty(int cell) {
+        dirtyCells.set(cell);
+    }
+
+    /**
+     * This method gets the next cell changed since {@code ClearDirtyCells()} was called,
+     * so a user interface only has to draw the cells a move, undo or reset changed.
+     * @param from {@code int} index of the first cell to look at.
+     * @return {@code int} index of the next changed cell, or -1 if there is none.
+     */
+    public int NextDirtyCell(int from) {
+        return dirtyCells.nextSetBit(from);
+    }
+
+    /**
+     * This method checks whether the whole level has to be drawn again,
+     * because the level changed or the debug mode was toggled.
+     * @return {@code boolean fullRedraw}.
+     */
+    public boolean IsFullRedraw() {
+        return fullRedraw;
+    }
+
+    /**
+     * This method forgets the changed cells once they have been drawn.
+     */
+    public void ClearDirtyCells() {
+        dirtyCells.clear();
+        fullRedraw = false;
+    }
+
+    /**
+     * This method checks whether the current level can no longer be completed,
+     * in which case the player should undo or reset the level.
+     * @return {@code boolean} true if the level is in a deadlock, false otherwise.
+     */
+    public boolean IsLevelDead() {
+        return deadlock != Deadlock.Reason.NONE;
+    }
+
+    /**
+     * This method gets why the current level can no longer be completed.
+     * A deadlock stays until the push that caused it is undone.
+     * @return {@code Deadlock.Reason deadlock}, {@code Deadlock.Reason.NONE} if there is none.
+     */
+    public Deadlock.Reason GetDeadlock() {
+        return deadlock;
+    }
+
+    /**
+     * This method sets what happens when a crate is pushed onto a dead square.
+     * @param rule {@code PushRule} to be used from the next move.
+     */
+    public void SetPushRule(PushRule rule) {
+        pushRule = rule;
+    }
+
+    /**
+     * This method gets what happens when a crate is pushed onto a dead square.
+     * @return {@code PushRule pushRule}.
+     */
+    public PushRule GetPushRule() {
+        return pushRule;
+    }
+
+    /**
+     * This method checks whether the last key pressed tried to push a crate onto a dead square.
+     * It is only set when the push rule is not {@code PushRule.ALLOW}.
+     * @return {@code boolean deadPush}.
+     */
+    public boolean IsDeadPush() {
+        return deadPush;
+    }
+
+    /**
+     * This method reads every level of the game file into an arrayList.
+     * It also initialize {@code movesCount}, {@code timeLoad},
+     * {@code mapSetName} and {@code levelName}.
+     * The game itself only reads the levels when they are played, through a {@code LevelReader}.
+     * @param input the file's inputStream.
+     * @return an arrayList contains levels.
+     */
+    public List<Level> LoadGameFile(InputStream input) {
+        List<Level> levels = new ArrayList<>();
+        try (LevelReader reader = openGameFile(input)) {
+            reader.forEachRemaining(levels::add);
+        } catch (UncheckedIOException e) {
+            GameLogger.GetGameLogger().severe("Error trying to load the game file: " + e);
+        } catch (NullPointerException e) {
+            GameLogger.GetGameLogger().severe("Cannot open the requested file: " + e);
+        }
+        return levels;
+    }
+
+    /**
+     * This method opens the game file and reads the values of a saved game before its first level.
+     * @param input the file's inputStream.
+     * @return {@code LevelReader} positioned on the first level.
+     */
+    private LevelReader openGameFile(InputStream input) {
+        LevelReader reader = new LevelReader(input);
+        mapSetName = reader.GetMapSetName();
+        movesCount = reader.GetMovesCount();
+        movesCountLevel = reader.GetMovesCountLevel();
+        timeLevel = reader.GetTimeLevel();
+        timeTotal = reader.GetTimeTotal();
+        if (reader.GetSavedLevelIndex() >= 0) {
+            isLevelLoad = true;
+            levelNumber = reader.GetSavedLevelIndex();
+        }
+        return reader;
+    }
+
+    /**
+     * This method checks whether the game is completed.
+     * @return {@code boolean gameComplete} which is true
+     * when game is completed, false otherwise.
+     */
+    public boolean IsGameComplete() {
+        return gameComplete;
+    }
+
+    /**
+     * This method checks whether the current level is completed.
+     * @return {@code boolean gameComplete} which is true
+     * when current level is completed, false otherwise.
+     */
+    public boolean IsLevelComplete() {
+        return levelComplete;
+    }
+
+    /**
+     * This method sets the {@code levelComplete} to false.
+     */
+    public void SetLevelComplete() {
+        levelComplete = false;
+    }
+
+    /**
+     * This method gets the next level of the current level,
+     * reading it from the game file when it is played.
+     * If the current level is null, it returns the first level,
+     * else if the current level is the last level, it returns null.
+     * Otherwise, it returns the next level.
+     * @return next level if it has, otherwise {@code null}.
+     */
+    public Level GetNextLevel() {
+        if (currentLevel == null) {
+            Level firstLevel = levelAt(0);
+            if (firstLevel == null) {
+                throw new NoSuchElementException("The game file has no level.");
+            }
+            return firstLevel;
+        }
+
+        Level nextLevel = levelAt(currentLevel.getIndex() + 1);
+        if (nextLevel != null) {
+            stepHistory.Clear();
+            historyFromStart = true;
+            deadlock = Deadlock.Reason.NONE;
+            return nextLevel;
+        }
+
+        gameComplete = true;
+        return null;
+    }
+
+    /**
+     * This method starts another level of the game directly.
+     * Any level of a {@code LevelLibrary} can be selected, and starts in its initial state.
+     * The levels of a text game file are read forward, so only a later level can be selected,
+     * and selecting a level past the end of the file goes past every level left in it.
+     * @param levelIndex {@code int} index of the level, from 0.
+     * @return {@code boolean} true if the level was started.
+     */
+    public boolean SelectLevel(int levelIndex) {
+        if (levelLibrary == null && currentLevel != null && levelIndex <= currentLevel.getIndex()) {
+            return false;
+        }
+
+        Level level = levelAt(levelIndex);
+        if (level == null) {
+            return false;
+        }
+
+        if (isLevelLoad && currentLevel != null) {
+            levelNumber += levelIndex - currentLevel.getIndex();
+        }
+        currentLevel = level;
+        stepHistory.Clear();
+        historyFromStart = true;
+        deadlock = Deadlock.Reason.NONE;
+        gameComplete = false;
+        levelComplete = false;
+        movesCount -= movesCountLevel;
+        movesCountLevel = 0;
+        fullRedraw = true;
+        snapshot();
+        return true;
+    }
+
+    /**
+     * This method gets a level by its index.
+     * A level of a {@code LevelLibrary} is decoded from the mapped file.
+     * A level of a text game file is read from the file, going past the levels before it
+     * with {@code LevelReader.Skip()} without building them.
+     * The engine only keeps the level being played and the one completed last,
+     * so the memory used does not grow with the number of levels played.
+     * The file is closed after its last level.
+     * Once {@code SaveGame()} has read the levels left, they are built from their rows instead.
+     * @param levelIndex {@code int} index of the level, from 0.
+     * @return {@code Level} at the index, or {@code null} if there is no such level
+     * or if the file has already gone past it.
+     */
+    private Level levelAt(int levelIndex) {
+        if (levelLibrary != null) {
+            return levelIndex >= 0 && levelIndex < levelLibrary.GetLevelCount()
+                    ? levelLibrary.GetLevel(levelIndex) : null;
+        }
+        while (!levelsLeft.isEmpty() && levelsLeft.peekFirst().getIndex() < levelIndex) {
+            levelsLeft.pollFirst();
+        }
+        if (!levelsLeft.isEmpty()) {
+            return levelsLeft.peekFirst().getIndex() == levelIndex ? levelsLeft.pollFirst().build() : null;
+        }
+        if (levelReader == null || levelIndex < levelReader.GetNextIndex()) {
+            return null;
+        }
+
+        try {
+            levelReader.Skip(levelIndex - levelReader.GetNextIndex());
+            if (levelReader.hasNext()) {
+                return levelReader.next();
+            }
+            levelReader.close();
+        } catch (UncheckedIOException e) {
+            GameLogger.GetGameLogger().severe("Error trying to load the game file: " + e);
+        }
+        levelReader = null;
+        return null;
+    }
+
+    /**
+     * This method gets the level completed last, for its high score list.
+     * @return {@code Level completedLevel}, or {@code null} if no level was completed.
+     */
+    public Level GetCompletedLevel() {
+        return completedLevel;
+    }
+
+    /**
+     * This methods gets the current level.
+     * @return {@code Level currentLevel}.
+     */
+    public Level GetCurrentLevel() {
+        return currentLevel;
+    }
+
+    /**
+     * This method gets the index of the current level.
+     * When the current level is completed, it returns
+     * current level index - 1 since the current level
+     * is actually next level now.
+     * If the saved game is loaded, it returns the saved level index.
+     * @return the index of the current level.
+     */
+    public int GetLevelIndex() {
+        if (!isLevelLoad) {
+            if (currentLevel == null) {
+                return 0;
+            } else if (levelComplete){
+                return (currentLevel.getIndex() - 1);
+            } else {
+                return currentLevel.getIndex();
+            }
+        } else {
+            if (levelComplete){
+                return (levelNumber - 1);
+            } else {
+                return levelNumber;
+            }
+        }
+    }
+
+    /**
+     * This method set the debug state to the opposite state.
+     */
+    public void ToggleDebug() {
+        m_debug = !m_debug;
+        fullRedraw = true;
+    }
+
+    /**
+     * This method get the current level state and convert it to String.
+     * The levels after the current one are written too.
+     * Those of a text game file are read to the end of the file and kept as rows,
+     * so they can still be played after the save.
+     * @return {@code String} representing levels.
+     */
+    public String SaveGame() {
+        StringBuilder gameBuilder = new StringBuilder();
+        appendLevel(gameBuilder, currentLevel);
+        if (levelLibrary != null) {
+            for (int lev = currentLevel.getIndex() + 1; lev < levelLibrary.GetLevelCount(); lev++) {
+                appendLevel(gameBuilder, levelLibrary.GetLevel(lev));
+            }
+        } else {
+            readLevelsLeft();
+            for (LevelReader.Block block : levelsLeft) {
+                if (block.getIndex() > currentLevel.getIndex()) {
+                    appendLevel(gameBuilder, block.build());
+                }
+            }
+        }
+        return gameBuilder.toString();
+    }
+
+    /**
+     * This method writes the name and the objects of a level for {@code SaveGame()}.
+     * @param gameBuilder {@code StringBuilder} of the saved game.
+     * @param level {@code Level} to be written.
+     */
+    private void appendLevel(StringBuilder gameBuilder, Level level) {
+        gameBuilder.append("LevelName: ").append(level.getName()).append("\n");
+        gameBuilder.append(level.SaveLevel()).append("\n");
+    }
+
+    /**
+     * This method reads the rows of every level left in the game file, without building them,
+     * and closes the file.
+     */
+    private void readLevelsLeft() {
+        if (levelReader == null) {
+            return;
+        }
+
+        try {
+            while (levelReader.hasNext()) {
+                levelsLeft.addLast(levelReader.nextBlock());
+            }
+            levelReader.close();
+        } catch (UncheckedIOException e) {
+            GameLogger.GetGameLogger().severe("Error trying to load the game file: " + e);
+        }
+        levelReader = null;
+    }
+
+    /**
+     * This method creates a binary save of the current level.
+     * @param timeLevel {@code int} time of the level in seconds, kept by the user interface.
+     * @param timeTotal {@code int} total time in seconds, kept by the user interface.
+     * @param withHistory {@code boolean} true to save the steps as well, so they can be undone after a restore.
+     * The steps are left out when they do not start from the initial state of the level.
+     * @return {@code GameSave} of the game.
+     */
+    public GameSave CreateSave(int timeLevel, int timeTotal, boolean withHistory) {
+        return new GameSave(mapSetName, currentLevel.getIndex(), currentLevel.getLayoutHash(),
+                movesCount, movesCountLevel, timeLevel, timeTotal,
+                currentLevel.GetKeeperIndex(), currentLevel.getCrates(),
+                withHistory && historyFromStart ? stepHistory.ToArray() : null);
+    }
+
+    /**
+     * This method restores a binary save on the pack it was made from.
+     * The engine should have just opened the pack, since the levels of a text game file
+     * are read forward and a level before the current one cannot be selected.
+     * @param save {@code GameSave} to be restored.
+     * @return {@code boolean} true if the save was restored,
+     * false if it belongs to another pack or level.
+     */
+    public boolean RestoreSave(GameSave save) {
+        if (currentLevel == null || !save.GetMapSetName().equals(mapSetName)) {
+            return false;
+        }
+        if (save.GetLevelIndex() != currentLevel.getIndex() && !SelectLevel(save.GetLevelIndex())) {
+            return false;
+        }
+        if (currentLevel.getLayoutHash() != save.GetLayoutHash()
+                || !currentLevel.restore(save.GetKeeper(), save.GetCrates())) {
+            return false;
+        }
+
+        stepHistory.Fill(save.HasHistory() ? save.GetHistory() : new int[0]);
+        historyFromStart = save.HasHistory();
+        deadlock = Deadlock.Reason.NONE;
+        movesCount = save.GetMovesCount();
+        movesCountLevel = save.GetMovesCountLevel();
+        timeLevel = save.GetTimeLevel();
+        timeTotal = save.GetTimeTotal();
+        gameComplete = false;
+        levelComplete = false;
+        fullRedraw = true;
+        snapshot();
+        return true;
+    }
+
+    /**
+     * This method attaches an autosave journal, which gets every step and undo from now on.
+     * A snapshot of the current level is taken at once.
+     * @param journal {@code AutosaveJournal} to be written, or {@code null} to stop autosaving.
+     */
+    public void SetJournal(AutosaveJournal journal) {
+        this.journal = journal;
+        snapshot();
+    }
+
+    /**
+     * This method sends a snapshot of the current level to the journal, which empties it.
+     * Once the game is complete, there is nothing left to recover and the journal is cleared.
+     */
+    private void snapshot() {
+        if (journal == null) {
+            return;
+        }
+        journalRecords = 0;
+        if (currentLevel == null) {
+            journal.Clear();
+        } else {
+            journal.Snapshot(CreateSave(timeLevel, timeTotal, true));
+        }
+    }
+
+    /**
+     * This method sends a step or an undo to the journal.
+     * Once the journal has {@code COMPACTRECORDS} records, a snapshot replaces it,
+     * so recovering never replays a long journal.
+     * @param record {@code int} step, or {@code AutosaveJournal.UNDO}.
+     */
+    private void journal(int record) {
+        if (journal == null) {
+            return;
+        }
+        if (++journalRecords >= COMPACTRECORDS) {
+            snapshot();
+        } else {
+            journal.Append(record);
+        }
+    }
+
+    /**
+     * This method is used to undo the step.
+     * It moves the keeper and the crate to the previous point.
+     * If undo failed, it returns 0 then the prompt will be displayed by {@code SubModel.Undo}.
+     * @return {@code int} representing undo success or not.
+     */
+    public int Undo() {
+        int step = stepHistory.Undo();
+        if (step == Board.BLOCKED) {
+            return 0;
+        }
+
+        markStep(step);
+        currentLevel.undoStep(step);
+        if (stepHistory.GetSize() < deadlockStep) {
+            deadlock = Deadlock.Reason.NONE;
+        }
+        movesCount--;
+        movesCountLevel--;
+        journal(AutosaveJournal.UNDO);
+        return 1;
+    }
+
+    /**
+     * This method is used to reset the level.
+     * It copies back the initial state of the current level,
+     * so the keeper and crates are moved to their initial point
+     * however many steps were made.
+     * The steps taken back can still be redone,
+     * unless the level was restored from a save without its steps,
+     * since they were then made from the restored state.
+     */
+    public void ResetLevel() {
+        if (currentLevel == null) {
+            return;
+        }
+        currentLevel.reset();
+        if (historyFromStart) {
+            stepHistory.Rewind();
+        } else {
+            stepHistory.Clear();
+            historyFromStart = true;
+        }
+        fullRedraw = true;
+        deadlock = Deadlock.Reason.NONE;
+        movesCount -= movesCountLevel;
+        movesCountLevel = 0;
+        snapshot();
+    }
+
+}
@@ -8,6 +8,8 @@ import java.util.Iterator;
 /**
  * GameGrid defines a map of gameObjects.
  * It defines several methods related to the location of gameObjects.
+ * The objects are packed into one flat byte array holding the ordinal of each
+ * {@code GameObject} plus one, where 0 means the cell is empty.
  *
  * @author Shiqi XIN-modified
  */
@@ -15,7 +17,8 @@ public class GameGrid implements Iterable {
 
     final int COLUMNS;
     final int ROWS;
-    private GameObject[][] gameObjects;
+    private static final GameObject[] OBJECTS = GameObject.values();
+    private final byte[] gameObjects;
 
     /**
      * This is the only constructor of the GameGrid class.
@@ -26,7 +29,7 @@ public class GameGrid implements Iterable {
         COLUMNS = columns;
         ROWS = rows;
 
-        gameObjects = new GameObject[COLUMNS][ROWS];
+        gameObjects = new byte[COLUMNS * ROWS];
     }
 
     /**
@@ -69,13 +72,14 @@ public class GameGrid implements Iterable {
      */
     public GameObject GetGameObjectAt(int col, int row) throws ArrayIndexOutOfBoundsException {
         if (isPointOutOfBounds(col, row)) {
-            if (StartMeUp.IsDebugActive()) {
+            if (GameEngine.IsDebugActive()) {
                 System.out.printf("Trying to get null GameObject from COL: %d  ROW: %d", col, row);
             }
             throw new ArrayIndexOutOfBoundsException("The point [" + col + ":" + row + "] is outside the map.");
         }
 
-        return gameObjects[col][row];
+        int code = gameObjects[col * ROWS + row];
+        return code == 0 ? null : OBJECTS[code - 1];
     }
 
     /**
@@ -103,8 +107,8 @@ public class GameGrid implements Iterable {
             return false;
         }
 
-        gameObjects[x][y] = gameObject;
-        return gameObjects[x][y] == gameObject;
+        gameObjects[x * ROWS + y] = (byte) (gameObject == null ? 0 : gameObject.ordinal() + 1);
+        return GetGameObjectAt(x, y) == gameObject;
     }
 
     /**
@@ -133,10 +137,11 @@ public class GameGrid implements Iterable {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder(gameObjects.length);
+        StringBuilder sb = new StringBuilder(gameObjects.length + COLUMNS);
 
-        for (GameObject[] gameObject : gameObjects) {
-            for (GameObject aGameObject : gameObject) {
+        for (int x = 0; x < COLUMNS; x++) {
+            for (int y = 0; y < ROWS; y++) {
+                GameObject aGameObject = GetGameObjectAt(x, y);
                 if (aGameObject == null) {
                     aGameObject = GameObject.DEBUG_OBJECT;
                 }
@@ -0,0 +1,329 @@
+package sample.start;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * GameSave is the binary save of a game, a few dozen bytes instead of the whole grid of every level.
+ * It refers to the pack by its map set name and to the level by its index
+ * and the fingerprint of its initial layout, so the levels themselves are not saved.
+ * It keeps the keeper and crate cells, the counters and, if asked, the steps of the level,
+ * so a restored level can still be undone.
+ * <p>
+ * The numbers are written as variable-length integers, seven bits per byte,
+ * the crate cells as the gaps between them, and the steps as two per byte.
+ * Reading a save only decodes these numbers, with no text to parse.
+ *
+ * @author Shiqi XIN
+ */
+public final class GameSave {
+
+    private static final int MAGIC = 0x534B4253;
+    private static final int VERSION = 1;
+    private static final int HASHISTORY = 1;
+
+    private final String mapSetName;
+    private final int levelIndex;
+    private final long layoutHash;
+    private final int movesCount;
+    private final int movesCountLevel;
+    private final int timeLevel;
+    private final int timeTotal;
+    private final int keeper;
+    private final int[] crates;
+    private final int[] history;
+
+    /**
+     * This is the only constructor of the GameSave class.
+     * {@code GameEngine.CreateSave()} creates a save of the current game.
+     * @param mapSetName {@code String} map set name of the pack.
+     * @param levelIndex {@code int} index of the level in the pack.
+     * @param layoutHash {@code long} fingerprint of the level as it was loaded.
+     * @param movesCount {@code int} total moves count.
+     * @param movesCountLevel {@code int} moves count of the level.
+     * @param timeLevel {@code int} time of the level in seconds.
+     * @param timeTotal {@code int} total time in seconds.
+     * @param keeper {@code int} index of the keeper cell.
+     * @param crates {@code int[]} indexes of the crate cells in ascending order.
+     * @param history {@code int[]} steps of the level, or {@code null} if they are not saved.
+     */
+    GameSave(String mapSetName, int levelIndex, long layoutHash, int movesCount, int movesCountLevel,
+             int timeLevel, int timeTotal, int keeper, int[] crates, int[] history) {
+        this.mapSetName = mapSetName;
+        this.levelIndex = levelIndex;
+        this.layoutHash = layoutHash;
+        this.movesCount = movesCount;
+        this.movesCountLevel = movesCountLevel;
+        this.timeLevel = timeLevel;
+        this.timeTotal = timeTotal;
+        this.keeper = keeper;
+        this.crates = crates;
+        this.history = history;
+    }
+
+    /**
+     * This method writes the save.
+     * @return {@code byte[]} of the save.
+     */
+    public byte[] ToBytes() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(64 + crates.length
+                + (history == null ? 0 : history.length / 2));
+        writeInt(output, MAGIC);
+        output.write(VERSION);
+        output.write(history == null ? 0 : HASHISTORY);
+
+        byte[] name = mapSetName.getBytes(StandardCharsets.UTF_8);
+        writeVarint(output, name.length);
+        output.write(name, 0, name.length);
+        writeInt(output, (int) (layoutHash >>> 32));
+        writeInt(output, (int) layoutHash);
+        writeVarint(output, levelIndex);
+        writeVarint(output, movesCount);
+        writeVarint(output, movesCountLevel);
+        writeVarint(output, timeLevel);
+        writeVarint(output, timeTotal);
+        writeVarint(output, keeper);
+
+        writeVarint(output, crates.length);
+        int previous = 0;
+        for (int crate : crates) {
+            writeVarint(output, crate - previous);
+            previous = crate;
+        }
+
+        if (history != null) {
+            writeVarint(output, history.length);
+            for (int i = 0; i < history.length; i += 2) {
+                int second = i + 1 < history.length ? history[i + 1] : 0;
+                output.write((history[i] & 0xF) | (second & 0xF) << 4);
+            }
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * This method reads a save written by {@code ToBytes()}.
+     * @param bytes {@code byte[]} of the save.
+     * @return {@code GameSave} read.
+     * @throws IOException when the bytes are not a save of a known version.
+     */
+    public static GameSave FromBytes(byte[] bytes) throws IOException {
+        ByteBuffer input = ByteBuffer.wrap(bytes);
+        try {
+            if (input.getInt() != MAGIC) {
+                throw new IOException("This is not a binary save.");
+            }
+            int version = input.get();
+            if (version != VERSION) {
+                throw new IOException("Binary save version " + version + " is not supported.");
+            }
+            boolean hasHistory = (input.get() & HASHISTORY) != 0;
+
+            byte[] name = new byte[readLength(input, 1)];
+            input.get(name);
+            long layoutHash = input.getLong();
+            int levelIndex = readVarint(input);
+            int movesCount = readVarint(input);
+            int movesCountLevel = readVarint(input);
+            int timeLevel = readVarint(input);
+            int timeTotal = readVarint(input);
+            int keeper = readVarint(input);
+
+            int[] crates = new int[readLength(input, 1)];
+            int previous = 0;
+            for (int i = 0; i < crates.length; i++) {
+                previous += readVarint(input);
+                crates[i] = previous;
+            }
+
+            int[] history = null;
+            if (hasHistory) {
+                history = new int[readLength(input, 2)];
+                for (int i = 0; i < history.length; i += 2) {
+                    int steps = input.get();
+                    history[i] = steps & 0xF;
+                    if (i + 1 < history.length) {
+                        history[i + 1] = (steps >> 4) & 0xF;
+                    }
+                }
+            }
+
+            return new GameSave(new String(name, StandardCharsets.UTF_8), levelIndex, layoutHash,
+                    movesCount, movesCountLevel, timeLevel, timeTotal, keeper, crates, history);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("The binary save is truncated.", e);
+        }
+    }
+
+    /**
+     * This method writes the save to a stream.
+     * @param output {@code OutputStream} to write to.
+     * @throws IOException when the save cannot be written.
+     */
+    public void Write(OutputStream output) throws IOException {
+        output.write(ToBytes());
+    }
+
+    /**
+     * This method reads a save from a stream, up to its end.
+     * @param input {@code InputStream} to read from.
+     * @return {@code GameSave} read.
+     * @throws IOException when the stream cannot be read or is not a save.
+     */
+    public static GameSave Read(InputStream input) throws IOException {
+        return FromBytes(input.readAllBytes());
+    }
+
+    /**
+     * This method writes an int as four bytes, high byte first.
+     * @param output {@code ByteArrayOutputStream} of the save.
+     * @param value {@code int} to be written.
+     */
+    private static void writeInt(ByteArrayOutputStream output, int value) {
+        output.write(value >>> 24);
+        output.write(value >>> 16);
+        output.write(value >>> 8);
+        output.write(value);
+    }
+
+    /**
+     * This method writes a positive int seven bits per byte, lowest bits first.
+     * The high bit of a byte is set when more bytes follow.
+     * @param output {@code ByteArrayOutputStream} of the save.
+     * @param value {@code int} to be written, not negative.
+     */
+    static void writeVarint(ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    /**
+     * This method reads an int written by {@code writeVarint()}.
+     * @param input {@code ByteBuffer} positioned on the int.
+     * @return {@code int} read.
+     * @throws IOException when the int is longer than five bytes.
+     */
+    static int readVarint(ByteBuffer input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int part = input.get();
+            value |= (part & 0x7F) << shift;
+            if ((part & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("The binary save holds a malformed number.");
+    }
+
+    /**
+     * This method reads the length of an array of the save,
+     * and checks it against the bytes left before the array is allocated.
+     * @param input {@code ByteBuffer} positioned on the length.
+     * @param itemsPerByte {@code int} most items of the array held by one byte.
+     * @return {@code int} length read.
+     * @throws IOException when the bytes left cannot hold that many items.
+     */
+    private static int readLength(ByteBuffer input, int itemsPerByte) throws IOException {
+        int length = readVarint(input);
+        if (length < 0 || ((long) length + itemsPerByte - 1) / itemsPerByte > input.remaining()) {
+            throw new IOException("The binary save is truncated.");
+        }
+        return length;
+    }
+
+    /**
+     * This method gets the map set name of the pack.
+     * @return {@code String mapSetName}.
+     */
+    public String GetMapSetName() {
+        return mapSetName;
+    }
+
+    /**
+     * This method gets the index of the level in the pack.
+     * @return {@code int levelIndex}.
+     */
+    public int GetLevelIndex() {
+        return levelIndex;
+    }
+
+    /**
+     * This method gets the fingerprint of the level as it was loaded.
+     * @return {@code long layoutHash}.
+     */
+    public long GetLayoutHash() {
+        return layoutHash;
+    }
+
+    /**
+     * This method gets the total moves count.
+     * @return {@code int movesCount}.
+     */
+    public int GetMovesCount() {
+        return movesCount;
+    }
+
+    /**
+     * This method gets the moves count of the level.
+     * @return {@code int movesCountLevel}.
+     */
+    public int GetMovesCountLevel() {
+        return movesCountLevel;
+    }
+
+    /**
+     * This method gets the time of the level.
+     * @return {@code int timeLevel}.
+     */
+    public int GetTimeLevel() {
+        return timeLevel;
+    }
+
+    /**
+     * This method gets the total time.
+     * @return {@code int timeTotal}.
+     */
+    public int GetTimeTotal() {
+        return timeTotal;
+    }
+
+    /**
+     * This method gets the index of the keeper cell.
+     * @return {@code int keeper}.
+     */
+    public int GetKeeper() {
+        return keeper;
+    }
+
+    /**
+     * This method gets the indexes of the crate cells.
+     * @return {@code int[]} copy of the crate cells in ascending order.
+     */
+    public int[] GetCrates() {
+        return crates.clone();
+    }
+
+    /**
+     * This method checks whether the steps of the level are saved.
+     * @return {@code boolean} true if the save has a history.
+     */
+    public boolean HasHistory() {
+        return history != null;
+    }
+
+    /**
+     * This method gets the steps of the level, in the order they were made.
+     * @return {@code int[]} copy of the steps, or {@code null} if they are not saved.
+     */
+    public int[] GetHistory() {
+        return history == null ? null : history.clone();
+    }
+}
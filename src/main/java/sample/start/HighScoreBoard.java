@@ -0,0 +1,143 @@
+package sample.start;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HighScoreBoard keeps the scores of a level or of a game sorted in memory.
+ * The scores are kept in a skip list ordered by time, then moves, then the order they were added,
+ * so adding a score and reading the best ones never sorts or copies the board,
+ * and several players can finish at the same time.
+ * The board is only kept in memory, the {@code ScoreStore} saves the boards of every level.
+ * The board is not limited to ten scores, only the lists shown are.
+ *
+ * @author Shiqi XIN
+ */
+public final class HighScoreBoard {
+
+    private static final Comparator<Score> ORDER = Comparator.comparingLong(Score::GetTime)
+            .thenComparingInt(Score::GetMoves)
+            .thenComparingLong(score -> score.sequence);
+
+    private final NavigableSet<Score> scores = new ConcurrentSkipListSet<>(ORDER);
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * This method adds a score to the board.
+     * @param name {@code String} nickname of the player.
+     * @param time {@code long} time in seconds.
+     * @param moves {@code int} moves count.
+     * @return {@code Score} added, to find its rank.
+     */
+    public Score Add(String name, long time, int moves) {
+        Score score = new Score(name, time, moves, sequence.getAndIncrement());
+        scores.add(score);
+        return score;
+    }
+
+    /**
+     * This method gets the best scores, best first.
+     * It only walks the first scores of the skip list.
+     * @param count {@code int} largest number of scores wanted.
+     * @return {@code List<Score>} of at most {@code count} scores.
+     */
+    public List<Score> GetTop(int count) {
+        List<Score> top = new ArrayList<>(Math.min(count, scores.size()));
+        for (Score score : scores) {
+            if (top.size() == count) {
+                break;
+            }
+            top.add(score);
+        }
+        return top;
+    }
+
+    /**
+     * This method gets the rank of a score, 1 for the best one.
+     * It counts the better scores, so it is quick for the scores near the top.
+     * @param score {@code Score} returned by {@code Add()}.
+     * @return {@code int} rank of the score.
+     */
+    public int GetRank(Score score) {
+        return scores.headSet(score).size() + 1;
+    }
+
+    /**
+     * This method gets every score of the board, best first.
+     * @return {@code NavigableSet<Score>} read-only view of the scores.
+     */
+    NavigableSet<Score> getScores() {
+        return Collections.unmodifiableNavigableSet(scores);
+    }
+
+    /**
+     * This method gets the number of scores on the board.
+     * @return {@code int} number of scores.
+     */
+    public int GetSize() {
+        return scores.size();
+    }
+
+    /**
+     * Score is one entry of a high score list.
+     */
+    public static final class Score {
+
+        private final String name;
+        private final long time;
+        private final int moves;
+        private final long sequence;
+
+        /**
+         * This is the only constructor of the Score class.
+         * @param name {@code String} nickname of the player.
+         * @param time {@code long} time in seconds.
+         * @param moves {@code int} moves count.
+         * @param sequence {@code long} order the score was added in, which breaks ties.
+         */
+        Score(String name, long time, int moves, long sequence) {
+            this.name = name;
+            this.time = time;
+            this.moves = moves;
+            this.sequence = sequence;
+        }
+
+        /**
+         * This method gets the nickname of the player.
+         * @return {@code String name}.
+         */
+        public String GetName() {
+            return name;
+        }
+
+        /**
+         * This method gets the time in seconds.
+         * @return {@code long time}.
+         */
+        public long GetTime() {
+            return time;
+        }
+
+        /**
+         * This method gets the moves count.
+         * @return {@code int moves}.
+         */
+        public int GetMoves() {
+            return moves;
+        }
+
+        /**
+         * This method writes the score as three lines of a high score list.
+         * @return {@code String} of the score.
+         */
+        @Override
+        public String toString() {
+            return "Name: " + name + "\nTime: " + time + "\nMoves: " + moves + "\n";
+        }
+    }
+}
@@ -3,13 +3,15 @@ package sample.start;
 import sample.objects.GameObject;
 
 import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
 
 import static sample.start.GameGrid.translatePoint;
 
 /**
- * Level saved a level using 3 different GameGrid objects
+ * Level saves a level in a packed {@code Board}
  * and provide several methods related to position.
  *
  * @author Shiqi XIN-modified
@@ -17,26 +19,35 @@ import static sample.start.GameGrid.translatePoint;
 public final class Level implements Iterable<GameObject> {
 
     private final String NAME;
-    private final GameGrid objectsGrid;
-    private final GameGrid diamondsGrid;
-    private final GameGrid allObjectsGrid;
+    private final Board board;
     private final int INDEX;
+    private final BitSet deadSquares;
+    private final Deadlock deadlock;
+    private final long LAYOUTHASH;
+    private final byte[] INITIALCELLS;
+    private final int INITIALCRATEDDIAMONDS;
+    private final long INITIALCRATEHASH;
     private int numberOfDiamonds = 0;
-    private Point keeperPosition = new Point(0, 0);
-    private Point keeperInitialPosition = new Point(0, 0);
+    private int numberOfCrates = 0;
+    private int cratedDiamondsCount = 0;
+    private int keeperIndex = 0;
+    private int keeperInitialIndex = 0;
+    private long crateHash = 0;
+    private int keeperArea = -1;
+    private int[] areaMarks;
+    private int[] areaQueue;
+    private int areaMark = 0;
 
     /**
-     * This is the only constructor of the Level class.
-     * It saves a level using 3 different GameGrid objects.
-     * It saves a objectsGrid which saves everything except diamonds.
-     * It saves a diamondsGrid which only saves diamonds.
-     * It also saves a allObjectsGrid which is same as objectsGrid for further use.
+     * This is the constructor of the Level class used for the text game files.
+     * It saves a level in a {@code Board} which keeps walls, diamonds,
+     * crates and the keeper of every cell as bit flags in one flat array.
      * @param levelName {@code String} representing the level name.
      * @param levelIndex {@code int} representing the level index.
      * @param raw_level {@code List<String>} contains String of {@code GameObject}.
      */
     public Level(String levelName, int levelIndex, List<String> raw_level) {
-        if (StartMeUp.IsDebugActive()) {
+        if (GameEngine.IsDebugActive()) {
             System.out.printf("[ADDING LEVEL] LEVEL [%d]: %s\n", levelIndex, levelName);
         }
 
@@ -46,83 +57,293 @@ public final class Level implements Iterable<GameObject> {
         int rows = raw_level.size();
         int columns = raw_level.get(0).trim().length();
 
-        objectsGrid = new GameGrid(rows, columns);
-        diamondsGrid = new GameGrid(rows, columns);
-        allObjectsGrid = new GameGrid(rows, columns);
+        board = new Board(rows, columns);
 
         for (int row = 0; row < raw_level.size(); row++) {
 
             // Loop over the string one char at a time because it should be the fastest way:
             // http://stackoverflow.com/questions/8894258/fastest-way-to-iterate-over-all-the-chars-in-a-string
-            for (int col = 0; col < raw_level.get(row).length(); col++) {
-                // The game object is null when the we're adding a floor or a diamond
+            for (int col = 0; col < raw_level.get(row).length() && col < columns; col++) {
                 GameObject curTile = GameObject.FromChar(raw_level.get(row).charAt(col));
+                addTile(board.IndexOf(row, col), Board.FlagsOf(curTile));
+            }
+        }
 
-                if (curTile == GameObject.DIAMOND) {
-                    numberOfDiamonds++;
-                    diamondsGrid.PutGameObjectAt(curTile, row, col);
-                    curTile = GameObject.FLOOR;
-                } else if (curTile == GameObject.KEEPER) {
-                    keeperPosition = new Point(row, col);
-                    keeperInitialPosition = new Point(row, col);
-                } else if (curTile == GameObject.CRATE_ON_DIAMOND) {
-                    numberOfDiamonds++;
-                    diamondsGrid.PutGameObjectAt(GameObject.DIAMOND, row, col);
-                    curTile = GameObject.CRATE;
-                } else if (curTile == GameObject.KEEPER_ON_DIAMOND) {
-                    numberOfDiamonds++;
-                    diamondsGrid.PutGameObjectAt(GameObject.DIAMOND, row, col);
-                    keeperPosition = new Point(row, col);
-                    keeperInitialPosition = new Point(row, col);
-                    curTile = GameObject.KEEPER;
-                } else {
-                    // Do Nothing
-                }
+        LAYOUTHASH = board.Fingerprint();
+        INITIALCELLS = board.copyCells();
+        INITIALCRATEDDIAMONDS = cratedDiamondsCount;
+        INITIALCRATEHASH = crateHash;
+        deadSquares = findDeadSquares();
+        deadlock = new Deadlock(board, deadSquares, numberOfCrates == numberOfDiamonds);
+    }
+
+    /**
+     * This is the constructor of the Level class used for the binary {@code LevelLibrary}.
+     * It reads the flags of every cell, row by row, straight from a buffer.
+     * @param levelName {@code String} representing the level name.
+     * @param levelIndex {@code int} representing the level index.
+     * @param rows {@code int rows} of the board.
+     * @param columns {@code int columns} of the board.
+     * @param cells {@code ByteBuffer} positioned on the flags of the first cell.
+     */
+    Level(String levelName, int levelIndex, int rows, int columns, ByteBuffer cells) {
+        if (GameEngine.IsDebugActive()) {
+            System.out.printf("[ADDING LEVEL] LEVEL [%d]: %s\n", levelIndex, levelName);
+        }
 
-                objectsGrid.PutGameObjectAt(curTile, row, col);
-                allObjectsGrid.PutGameObjectAt(curTile, row, col);
-                curTile = null;
+        NAME = levelName;
+        INDEX = levelIndex;
+        board = new Board(rows, columns);
+
+        for (int index = 0; index < board.GetSize(); index++) {
+            addTile(index, cells.get());
+        }
+
+        LAYOUTHASH = board.Fingerprint();
+        INITIALCELLS = board.copyCells();
+        INITIALCRATEDDIAMONDS = cratedDiamondsCount;
+        INITIALCRATEHASH = crateHash;
+        deadSquares = findDeadSquares();
+        deadlock = new Deadlock(board, deadSquares, numberOfCrates == numberOfDiamonds);
+    }
+
+    /**
+     * This method puts the flags of one cell on the board and counts its diamonds and crates.
+     * @param index {@code int} index of the cell.
+     * @param flags {@code byte} flags of the cell.
+     */
+    private void addTile(int index, byte flags) {
+        if ((flags & Board.GOAL) != 0) {
+            numberOfDiamonds++;
+            if ((flags & Board.CRATE) != 0) {
+                cratedDiamondsCount++;
             }
         }
+        if ((flags & Board.CRATE) != 0) {
+            numberOfCrates++;
+            crateHash ^= Zobrist.CrateKey(index);
+        }
+        if ((flags & Board.KEEPER) != 0) {
+            keeperIndex = index;
+            keeperInitialIndex = index;
+        }
+
+        board.clearFlags(index, Board.WALL);
+        board.setFlags(index, flags);
     }
 
     /**
-     * This method splices objectsGrid and diamondGrid together
-     * and converts them into a string to return.
-     * @return {@code String} converted from the allObjectsGrid
+     * This method finds the floor cells from which a crate can never be pushed onto any diamond,
+     * even with no other crate in the way.
+     * It pulls crates backwards from every diamond, and every floor cell never reached is dead.
+     * @return {@code BitSet} with a bit set for every dead cell.
      */
-    public String SaveLevel() {
-        for (int row = 0; row < allObjectsGrid.ROWS; row++) {
-            for (int col = 0; col < allObjectsGrid.COLUMNS; col++) {
-                if (diamondsGrid.GetGameObjectAt(col, row) == GameObject.DIAMOND) {
-                    if (allObjectsGrid.GetGameObjectAt(col, row) == GameObject.CRATE) {
-                        allObjectsGrid.PutGameObjectAt(GameObject.CRATE_ON_DIAMOND, col, row);
-                    } else if (allObjectsGrid.GetGameObjectAt(col, row) == GameObject.KEEPER) {
-                        allObjectsGrid.PutGameObjectAt(GameObject.KEEPER_ON_DIAMOND, col, row);
-                    } else {
-                        allObjectsGrid.PutGameObjectAt(GameObject.DIAMOND, col, row);
-                    }
+    private BitSet findDeadSquares() {
+        int size = board.GetSize();
+        BitSet live = new BitSet(size);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+
+        for (int cell = 0; cell < size; cell++) {
+            if (board.Has(cell, Board.GOAL)) {
+                live.set(cell);
+                queue[tail++] = cell;
+            }
+        }
+
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                // The crate comes from the previous cell, pushed by the keeper one cell further back.
+                int previous = board.Neighbour(cell, Board.Opposite(direction));
+                if (previous == Board.BLOCKED || board.Has(previous, Board.WALL) || live.get(previous)) {
+                    continue;
                 }
+                int keeper = board.Neighbour(previous, Board.Opposite(direction));
+                if (keeper == Board.BLOCKED || board.Has(keeper, Board.WALL)) {
+                    continue;
+                }
+                live.set(previous);
+                queue[tail++] = previous;
             }
         }
-        return allObjectsGrid.toString();
+
+        BitSet dead = new BitSet(size);
+        for (int cell = 0; cell < size; cell++) {
+            if (!board.Has(cell, Board.WALL) && !live.get(cell)) {
+                dead.set(cell);
+            }
+        }
+        return dead;
+    }
+
+    /**
+     * This method checks whether a crate on a cell can never reach any diamond.
+     * @param index {@code int} index of the cell.
+     * @return {@code true} if the cell is a dead square, else {@code false}.
+     */
+    public boolean IsDeadSquare(int index) {
+        return deadSquares.get(index);
+    }
+
+    /**
+     * This method gets the dead squares of the level, computed once when the level is loaded.
+     * @return {@code BitSet} copy with a bit set for every dead cell.
+     */
+    public BitSet GetDeadSquares() {
+        return (BitSet) deadSquares.clone();
+    }
+
+    /**
+     * This method checks whether moving the keeper in a direction
+     * would push a crate onto a dead square.
+     * It is always false when there are more crates than diamonds,
+     * because then some crates never need to reach a diamond.
+     * @param direction {@code int} one of {@code Board.UP}, {@code Board.RIGHT},
+     * {@code Board.DOWN} and {@code Board.LEFT}.
+     * @return {@code true} if the move is a push onto a dead square, else {@code false}.
+     */
+    boolean isDeadPush(int direction) {
+        if (numberOfCrates != numberOfDiamonds) {
+            return false;
+        }
+
+        int target = board.Neighbour(keeperIndex, direction);
+        if (target == Board.BLOCKED || !board.Has(target, Board.CRATE)) {
+            return false;
+        }
+
+        int crateTarget = board.Neighbour(target, direction);
+        return crateTarget != Board.BLOCKED && deadSquares.get(crateTarget);
+    }
+
+    /**
+     * This method prints the objects of the board together with the diamonds
+     * and converts them into a string to return.
+     * @return {@code String} converted from the board
+     */
+    public String SaveLevel() {
+        return board.toString(true);
     }
 
     /**
      * This method checks whether the level is complete.
+     * The number of crates on diamonds is kept up to date by every move,
+     * so no cell needs to be scanned.
      * @return {@code boolean} which is true if it is completed, otherwise false.
      */
     boolean isComplete() {
-        int cratedDiamondsCount = 0;
-        for (int row = 0; row < objectsGrid.ROWS; row++) {
-            for (int col = 0; col < objectsGrid.COLUMNS; col++) {
-                if (objectsGrid.GetGameObjectAt(col, row) == GameObject.CRATE && diamondsGrid.GetGameObjectAt(col, row) == GameObject.DIAMOND) {
-                    cratedDiamondsCount++;
+        return cratedDiamondsCount >= numberOfDiamonds;
+    }
+
+    /**
+     * This method gets the number of crates on diamonds.
+     * @return {@code int cratedDiamondsCount}.
+     */
+    public int GetCratedDiamondsCount() {
+        return cratedDiamondsCount;
+    }
+
+    /**
+     * This method gets the number of diamonds.
+     * @return {@code int numberOfDiamonds}.
+     */
+    public int GetNumberOfDiamonds() {
+        return numberOfDiamonds;
+    }
+
+    /**
+     * This method checks whether a crate is on a diamond at a cell.
+     * @param index {@code int} index of the cell.
+     * @return {@code int} 1 if a crate is on a diamond, otherwise 0.
+     */
+    private int cratedDiamondAt(int index) {
+        return board.Has(index, Board.CRATE | Board.GOAL) ? 1 : 0;
+    }
+
+    /**
+     * This method moves a crate from a cell to another cell
+     * and updates the number of crates on diamonds.
+     * @param from {@code int} index of the cell the crate is on.
+     * @param to {@code int} index of the cell the crate moves to.
+     */
+    private void moveCrate(int from, int to) {
+        cratedDiamondsCount -= cratedDiamondAt(from);
+        board.clearFlags(from, Board.CRATE);
+        board.setFlags(to, Board.CRATE);
+        cratedDiamondsCount += cratedDiamondAt(to);
+        crateHash ^= Zobrist.CrateKey(from) ^ Zobrist.CrateKey(to);
+        keeperArea = -1;
+    }
+
+    /**
+     * This method checks whether a step made by {@code moveKeeper()} left the level
+     * in a state that can never be completed.
+     * Only a push can cause a deadlock, and only the pushed crate and the crates around it are checked.
+     * @param step {@code int} step returned by {@code moveKeeper()}.
+     * @return {@code Deadlock.Reason} of the deadlock, or {@code Deadlock.Reason.NONE}.
+     */
+    Deadlock.Reason checkDeadlock(int step) {
+        if (step == Board.BLOCKED || (step & Board.PUSH) == 0) {
+            return Deadlock.Reason.NONE;
+        }
+
+        int crate = board.Neighbour(keeperIndex, step & 3);
+        return deadlock.CheckPush(board, crate, keeperIndex);
+    }
+
+    /**
+     * This method gets the Zobrist hash of the current state.
+     * It is the XOR of the crate keys, updated on every push,
+     * and the key of the smallest cell the keeper can walk to.
+     * Walking never changes the keeper area, so it is only found again after a push,
+     * by a walk over the board that takes O(board) time instead of O(1).
+     * Two states with the same crates and the same keeper area have the same hash.
+     * @return {@code long} hash of the state.
+     */
+    public long GetZobristHash() {
+        if (keeperArea < 0) {
+            keeperArea = findKeeperArea();
+        }
+        return crateHash ^ Zobrist.KeeperKey(keeperArea);
+    }
+
+    /**
+     * This method finds the smallest cell the keeper can walk to without pushing a crate.
+     * The queue and the marks of the visited cells are kept by the level and reused by every call,
+     * a cell being visited when its mark is the mark of the current call,
+     * so no array is created or cleared after the first call.
+     * @return {@code int} index of the smallest reachable cell.
+     */
+    private int findKeeperArea() {
+        if (areaMarks == null || areaMark == Integer.MAX_VALUE) {
+            areaMarks = new int[board.GetSize()];
+            areaQueue = new int[board.GetSize()];
+            areaMark = 0;
+        }
+        int mark = ++areaMark;
+        int[] marks = areaMarks;
+        int[] queue = areaQueue;
+        int head = 0;
+        int tail = 0;
+        int smallest = keeperIndex;
+        marks[keeperIndex] = mark;
+        queue[tail++] = keeperIndex;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            smallest = Math.min(smallest, cell);
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                int next = board.Neighbour(cell, direction);
+                if (next != Board.BLOCKED && marks[next] != mark && (board.GetCell(next) & (Board.WALL | Board.CRATE)) == 0) {
+                    marks[next] = mark;
+                    queue[tail++] = next;
                 }
             }
         }
 
-        return cratedDiamondsCount >= numberOfDiamonds;
+        return smallest;
     }
 
     /**
@@ -133,12 +354,20 @@ public final class Level implements Iterable<GameObject> {
         return INDEX;
     }
 
+    /**
+     * This method get the level name.
+     * @return {@code String} level name.
+     */
+    String getName() {
+        return NAME;
+    }
+
     /**
      * This method get the current keeper position.
      * @return {@code int} keeper position.
      */
     Point getKeeperPosition() {
-        return keeperPosition;
+        return pointOf(keeperIndex);
     }
 
     /**
@@ -146,7 +375,15 @@ public final class Level implements Iterable<GameObject> {
      * @return {@code int} initial keeper position.
      */
     Point getKeeperInitialPosition() {
-        return keeperInitialPosition;
+        return pointOf(keeperInitialIndex);
+    }
+
+    /**
+     * This method get the index of the keeper cell on the board.
+     * @return {@code int} keeper index.
+     */
+    public int GetKeeperIndex() {
+        return keeperIndex;
     }
 
     /**
@@ -156,7 +393,7 @@ public final class Level implements Iterable<GameObject> {
      * @return {@code GameObject} at the target point.
      */
     GameObject getTargetObject(Point source, Point delta) {
-        return objectsGrid.getTargetFromSource(source, delta);
+        return getObjectAt(translatePoint(source, delta));
     }
 
     /**
@@ -165,7 +402,87 @@ public final class Level implements Iterable<GameObject> {
      * @return {@code GameObject} at {@code Point p}.
      */
     GameObject getObjectAt(Point p) {
-        return objectsGrid.GetGameObjectAt(p);
+        return board.GetObjectAt(indexOf(p));
+    }
+
+    /**
+     * This method converts a point to the index of its cell on the board.
+     * @param p {@code Point p} whose x is the row and y is the column.
+     * @return {@code int} index of the cell.
+     */
+    int indexOf(Point p) {
+        if (p == null) {
+            throw new IllegalArgumentException("Point cannot be null.");
+        }
+
+        return board.IndexOf(p.x, p.y);
+    }
+
+    /**
+     * This method converts the index of a cell on the board to a point.
+     * @param index {@code int} index of the cell.
+     * @return {@code Point} whose x is the row and y is the column.
+     */
+    Point pointOf(int index) {
+        return new Point(index / board.COLUMNS, index % board.COLUMNS);
+    }
+
+    /**
+     * This method moves the keeper one cell in a direction, pushing a crate if there is one.
+     * It only reads and writes the board, so no object is created.
+     * @param direction {@code int} one of {@code Board.UP}, {@code Board.RIGHT},
+     * {@code Board.DOWN} and {@code Board.LEFT}.
+     * @return {@code int} step made, which is the direction with {@code Board.PUSH} set
+     * if a crate was pushed, or {@code Board.BLOCKED} if the keeper cannot move.
+     */
+    int moveKeeper(int direction) {
+        int target = board.Neighbour(keeperIndex, direction);
+        if (target == Board.BLOCKED || board.Has(target, Board.WALL)) {
+            return Board.BLOCKED;
+        }
+
+        int step = direction;
+        if (board.Has(target, Board.CRATE)) {
+            int crateTarget = board.Neighbour(target, direction);
+            if (crateTarget == Board.BLOCKED || (board.GetCell(crateTarget) & (Board.WALL | Board.CRATE)) != 0) {
+                return Board.BLOCKED;
+            }
+
+            moveCrate(target, crateTarget);
+            step |= Board.PUSH;
+        }
+
+        board.clearFlags(keeperIndex, Board.KEEPER);
+        board.setFlags(target, Board.KEEPER);
+        keeperIndex = target;
+        return step;
+    }
+
+    /**
+     * This method takes back a step made by {@code moveKeeper()}.
+     * The keeper moves back one cell and pulls the crate with it if the step was a push.
+     * @param step {@code int} step returned by {@code moveKeeper()}.
+     */
+    void undoStep(int step) {
+        int offset = board.Offset(step & 3);
+        int previous = keeperIndex - offset;
+
+        board.clearFlags(keeperIndex, Board.KEEPER);
+        board.setFlags(previous, Board.KEEPER);
+
+        if ((step & Board.PUSH) != 0) {
+            moveCrate(keeperIndex + offset, keeperIndex);
+        }
+
+        keeperIndex = previous;
+    }
+
+    /**
+     * This method gets the packed board of this level.
+     * @return {@code Board board}.
+     */
+    public Board GetBoard() {
+        return board;
     }
 
     /**
@@ -179,33 +496,146 @@ public final class Level implements Iterable<GameObject> {
     }
 
     /**
-     * This method moves the {@code GameObject} from source point to destination point
-     * in both allObjectsGrid and objectsGrid.
+     * This method moves the {@code GameObject} from source point to destination point.
+     * The object at the destination is put at the source point.
      * @param object {@code GameObject} to be moved.
      * @param source source point.
      * @param destination destination point.
      */
     public void MoveGameObjectTo(GameObject object, Point source, Point destination) {
-        allObjectsGrid.PutGameObjectAt(getObjectAt(destination), source);
-        allObjectsGrid.PutGameObjectAt(object, destination);
-        objectsGrid.PutGameObjectAt(getObjectAt(destination), source);
-        objectsGrid.PutGameObjectAt(object, destination);
+        int sourceIndex = indexOf(source);
+        int destinationIndex = indexOf(destination);
+        cratedDiamondsCount -= cratedDiamondAt(sourceIndex) + cratedDiamondAt(destinationIndex);
+        crateHash ^= crateKeyAt(sourceIndex) ^ crateKeyAt(destinationIndex);
+        board.putObjectAt(board.GetObjectAt(destinationIndex), sourceIndex);
+        board.putObjectAt(object, destinationIndex);
+        cratedDiamondsCount += cratedDiamondAt(sourceIndex) + cratedDiamondAt(destinationIndex);
+        crateHash ^= crateKeyAt(sourceIndex) ^ crateKeyAt(destinationIndex);
+        keeperArea = -1;
+    }
+
+    /**
+     * This method gets the fingerprint of the level as it was loaded,
+     * which tells whether a save belongs to this level.
+     * @return {@code long LAYOUTHASH}.
+     */
+    long getLayoutHash() {
+        return LAYOUTHASH;
+    }
+
+    /**
+     * This method gets the cells of every crate.
+     * @return {@code int[]} indexes of the crate cells in ascending order.
+     */
+    int[] getCrates() {
+        int[] crates = new int[numberOfCrates];
+        int count = 0;
+        for (int index = 0; index < board.GetSize() && count < crates.length; index++) {
+            if (board.Has(index, Board.CRATE)) {
+                crates[count++] = index;
+            }
+        }
+        return crates;
+    }
+
+    /**
+     * This method puts the keeper and every crate on the given cells, as in a saved game.
+     * Nothing is changed if the cells do not fit the level.
+     * @param keeper {@code int} index of the keeper cell.
+     * @param crates {@code int[]} indexes of the crate cells in ascending order, one per crate of the level.
+     * @return {@code boolean} true if the level was restored.
+     */
+    boolean restore(int keeper, int[] crates) {
+        if (crates.length != numberOfCrates || !isFloor(keeper)) {
+            return false;
+        }
+        for (int i = 0; i < crates.length; i++) {
+            if (!isFloor(crates[i]) || crates[i] == keeper || (i > 0 && crates[i] <= crates[i - 1])) {
+                return false;
+            }
+        }
+
+        for (int index = 0; index < board.GetSize(); index++) {
+            if (board.Has(index, Board.CRATE)) {
+                cratedDiamondsCount -= cratedDiamondAt(index);
+                board.clearFlags(index, Board.CRATE);
+                crateHash ^= Zobrist.CrateKey(index);
+            }
+        }
+        for (int crate : crates) {
+            board.setFlags(crate, Board.CRATE);
+            cratedDiamondsCount += cratedDiamondAt(crate);
+            crateHash ^= Zobrist.CrateKey(crate);
+        }
+
+        board.clearFlags(keeperIndex, Board.KEEPER);
+        board.setFlags(keeper, Board.KEEPER);
+        keeperIndex = keeper;
+        keeperArea = -1;
+        return true;
+    }
+
+    /**
+     * This method puts the level back to its initial state.
+     * The cells, with the crate flags, are copied back from the copy made when the level was loaded,
+     * so it takes the same time whatever the number of steps made,
+     * and crates that swapped places cannot get in each other's way.
+     */
+    void reset() {
+        board.restoreCells(INITIALCELLS);
+        cratedDiamondsCount = INITIALCRATEDDIAMONDS;
+        crateHash = INITIALCRATEHASH;
+        keeperIndex = keeperInitialIndex;
+        keeperArea = -1;
+    }
+
+    /**
+     * This method checks whether a cell is on the board and is not a wall.
+     * @param index {@code int} index of the cell.
+     * @return {@code boolean} true if the keeper or a crate can stand on the cell.
+     */
+    private boolean isFloor(int index) {
+        return index >= 0 && index < board.GetSize() && !board.Has(index, Board.WALL);
+    }
+
+    /**
+     * This method gets the Zobrist key of the crate at a cell.
+     * @param index {@code int} index of the cell.
+     * @return {@code long} key of the crate, or 0 if there is no crate.
+     */
+    private long crateKeyAt(int index) {
+        return board.Has(index, Board.CRATE) ? Zobrist.CrateKey(index) : 0;
     }
 
     /**
      * This method moves the keeper to it's initial position.
      */
     public void MovePointToInitial() {
-        keeperPosition = new Point((int)keeperInitialPosition.getX(), (int)keeperInitialPosition.getY());
+        keeperIndex = keeperInitialIndex;
+        keeperArea = -1;
     }
 
     /**
-     * Print {@code objectsGrid} in the current level as String.
-     * @return {@code String} converted from {@code objectsGrid}.
+     * Print the objects in the current level as String without diamonds.
+     * @return {@code String} converted from {@code board}.
      */
     @Override
     public String toString() {
-        return objectsGrid.toString();
+        return board.toString();
+    }
+
+    /**
+     * This method gets the object to be drawn on a cell.
+     * It returns {@code GameObject.CRATE_ON_DIAMOND} when crate and diamond are on the same cell,
+     * {@code GameObject.DIAMOND} when floor and diamond are on the same cell,
+     * {@code GameObject.KEEPER} when the keeper is on a diamond,
+     * else the object on the cell.
+     * @param index {@code int} index of the cell on the board.
+     * @return {@code GameObject} to be drawn.
+     */
+    public GameObject GetTileAt(int index) {
+        GameObject tile = board.GetTileAt(index);
+        return tile == GameObject.KEEPER_ON_DIAMOND ? GameObject.KEEPER : tile;
     }
 
     /**
@@ -231,41 +661,28 @@ public final class Level implements Iterable<GameObject> {
          */
         @Override
         public boolean hasNext() {
-            return !(row == objectsGrid.ROWS - 1 && column == objectsGrid.COLUMNS);
+            return !(row == board.COLUMNS - 1 && column == board.ROWS);
         }
 
         /**
-         * This method gets the next {@code GameObject} in the Grids.
+         * This method gets the next {@code GameObject} in the board.
          * It returns {@code GameObject.CRATE_ON_DIAMOND} when crate and diamond
-         * are on the same point of objectGrid and diamondGrid respectively,
-         * {@code GameObject.DIAMOND} when floor and diamond
-         * are on the same point of objectGrid and diamondGrid respectively,
-         * else return {@code objectGrid}.
+         * are on the same cell,
+         * {@code GameObject.DIAMOND} when floor and diamond are on the same cell,
+         * else return the object on the cell.
          * @return {@code GameObject}.
          */
         @Override
         public GameObject next() {
-            if (column >= objectsGrid.COLUMNS) {
+            if (column >= board.ROWS) {
                 column = 0;
                 row++;
             }
 
-            GameObject object = objectsGrid.GetGameObjectAt(column, row);
-            GameObject diamond = diamondsGrid.GetGameObjectAt(column, row);
-            GameObject retObj = object;
+            GameObject retObj = GetTileAt(board.IndexOf(column, row));
 
             column++;
 
-            if (diamond == GameObject.DIAMOND) {
-                if (object == GameObject.CRATE) {
-                    retObj = GameObject.CRATE_ON_DIAMOND;
-                } else if (object == GameObject.FLOOR) {
-                    retObj = diamond;
-                } else {
-                    retObj = object;
-                }
-            }
-
             return retObj;
         }
 
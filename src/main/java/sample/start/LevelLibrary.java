@@ -0,0 +1,218 @@
+package sample.start;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * LevelLibrary is a binary level file with an index, read through a memory-mapped {@code FileChannel}.
+ * Any level is decoded straight from the mapped file by its number,
+ * without reading or parsing the levels before it,
+ * so opening a library and switching level take the same time for any number of levels.
+ * {@code Convert()} writes a library from a text game file.
+ * <p>
+ * The file starts with the magic number, the version, the number of levels,
+ * the position of the index and the map set name.
+ * Each level is its name, its rows, its columns and the {@code Board} flags of every cell.
+ * The index at the end of the file holds the position of every level.
+ *
+ * @author Shiqi XIN
+ */
+public final class LevelLibrary implements Closeable {
+
+    private static final int MAGIC = 0x534B424C;
+    private static final int VERSION = 1;
+    private static final int COUNTPOSITION = 8;
+    private static final int HEADERSIZE = COUNTPOSITION + Integer.BYTES + Long.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int levelCount;
+    private final int indexStart;
+    private final String mapSetName;
+
+    /**
+     * This is the only constructor of the LevelLibrary class.
+     * It maps the whole file and reads its header.
+     * @param file {@code File} of the library.
+     * @throws IOException when the file cannot be read or is not a level library.
+     */
+    public LevelLibrary(File file) throws IOException {
+        channel = FileChannel.open(file.toPath());
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADERSIZE || buffer.getInt() != MAGIC) {
+                throw new IOException(file.getName() + " is not a level library.");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Level library version " + version + " is not supported.");
+            }
+            levelCount = buffer.getInt();
+            indexStart = (int) buffer.getLong();
+            mapSetName = readString(buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * This method gets the number of levels in the library.
+     * @return {@code int levelCount}.
+     */
+    public int GetLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * This method gets the map set name of the library.
+     * @return {@code String mapSetName}.
+     */
+    public String GetMapSetName() {
+        return mapSetName;
+    }
+
+    /**
+     * This method decodes one level from the mapped file.
+     * Each call builds a new {@code Level} in its initial state.
+     * @param levelIndex {@code int} number of the level, from 0.
+     * @return {@code Level} decoded.
+     * @throws IndexOutOfBoundsException when the library has no such level.
+     */
+    public Level GetLevel(int levelIndex) {
+        if (levelIndex < 0 || levelIndex >= levelCount) {
+            throw new IndexOutOfBoundsException("The library has no level " + levelIndex + ".");
+        }
+
+        ByteBuffer level = buffer.duplicate();
+        level.position((int) buffer.getLong(indexStart + levelIndex * Long.BYTES));
+        String name = readString(level);
+        int rows = level.getShort() & 0xFFFF;
+        int columns = level.getShort() & 0xFFFF;
+        return new Level(name, levelIndex, rows, columns, level);
+    }
+
+    /**
+     * This method closes the file channel of the library.
+     * @throws IOException when the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * This method writes a library from every level of a text game file.
+     * The levels are read one at a time, so the game file is never held in memory.
+     * @param input {@code InputStream} of the text game file.
+     * @param file {@code File} of the library to be written.
+     * @return {@code int} number of levels written.
+     * @throws IOException when the library cannot be written.
+     */
+    public static int Convert(InputStream input, File file) throws IOException {
+        long[] positions = new long[64];
+        int count = 0;
+        long indexStart;
+
+        try (LevelReader reader = new LevelReader(input);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(0);
+            output.writeLong(0);
+            writeString(output, reader.GetMapSetName());
+
+            while (reader.hasNext()) {
+                Level level = reader.next();
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = output.size();
+                writeLevel(output, level);
+            }
+
+            indexStart = output.size();
+            for (int i = 0; i < count; i++) {
+                output.writeLong(positions[i]);
+            }
+        }
+
+        if (indexStart >= Integer.MAX_VALUE) {
+            throw new IOException("The game file is too large for a level library.");
+        }
+        try (RandomAccessFile header = new RandomAccessFile(file, "rw")) {
+            header.seek(COUNTPOSITION);
+            header.writeInt(count);
+            header.writeLong(indexStart);
+        }
+        return count;
+    }
+
+    /**
+     * This method writes one level in its initial state.
+     * @param output {@code DataOutputStream} of the library.
+     * @param level {@code Level} to be written.
+     * @throws IOException when the level cannot be written.
+     */
+    private static void writeLevel(DataOutputStream output, Level level) throws IOException {
+        Board board = level.GetBoard();
+        writeString(output, level.getName());
+        output.writeShort(board.GetRows());
+        output.writeShort(board.GetColumns());
+        for (int index = 0; index < board.GetSize(); index++) {
+            output.writeByte(board.GetCell(index));
+        }
+    }
+
+    /**
+     * This method writes a string as its length in bytes followed by its UTF-8 bytes.
+     * @param output {@code DataOutputStream} of the library.
+     * @param value {@code String} to be written.
+     * @throws IOException when the string cannot be written.
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * This method reads a string written by {@code writeString()}.
+     * @param input {@code ByteBuffer} positioned on the string.
+     * @return {@code String} read.
+     */
+    private static String readString(ByteBuffer input) {
+        byte[] bytes = new byte[input.getShort() & 0xFFFF];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * This method converts a text game file to a level library from the command line.
+     * @param args {@code String[]} the game file and the library to be written.
+     * @throws IOException when a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: LevelLibrary <game file .skb> <library file>");
+            return;
+        }
+
+        try (InputStream input = new FileInputStream(args[0])) {
+            int count = Convert(input, new File(args[1]));
+            System.out.println("Wrote " + count + " levels to " + args[1]);
+        }
+    }
+}
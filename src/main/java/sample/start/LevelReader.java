@@ -0,0 +1,356 @@
+package sample.start;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * LevelReader reads the levels of a game file one at a time, while the file is being read.
+ * Only the level returned by {@code next()} is held in memory,
+ * and {@code Skip()} goes past levels without building them,
+ * so a pack of thousands of levels opens at once and keeps a flat memory use.
+ * The lines are checked character by character, without any regular expression.
+ * The values of a saved game before the first level are read when the reader is created.
+ *
+ * @author Shiqi XIN
+ */
+public final class LevelReader implements Iterator<Level>, Closeable {
+
+    private static final String MAPSETNAME = "MapSetName";
+    private static final String LEVELNAME = "LevelName";
+    private static final String TOTALMOVES = "total moves:";
+    private static final String MOVES = "moves:";
+    private static final String TOTALTIME = "total time:";
+    private static final String TIME = "time:";
+    private static final String LEVELINDEX = "level index:";
+
+    private final BufferedReader reader;
+    private String mapSetName = "";
+    private int movesCount = 0;
+    private int movesCountLevel = 0;
+    private int timeLevel = 0;
+    private int timeTotal = 0;
+    private int savedLevelIndex = -1;
+    private String nextName = "";
+    private String nextRow;
+    private int nextIndex = 0;
+
+    /**
+     * This is the only constructor of the LevelReader class.
+     * It reads the game file up to the first row of the first level.
+     * @param input {@code InputStream} of the game file.
+     */
+    public LevelReader(InputStream input) {
+        reader = new BufferedReader(new InputStreamReader(input));
+        nextRow = findRow();
+    }
+
+    /**
+     * This method checks whether there is one more level in the game file.
+     * @return {@code boolean} true if {@code next()} returns a level.
+     */
+    @Override
+    public boolean hasNext() {
+        return nextRow != null;
+    }
+
+    /**
+     * This method reads the next level of the game file and builds it.
+     * @return {@code Level} read, indexed from 0 in the order of the file.
+     * @throws NoSuchElementException when there is no level left.
+     */
+    @Override
+    public Level next() {
+        return nextBlock().build();
+    }
+
+    /**
+     * This method reads the rows of the next level without building it,
+     * so the level can be built on another thread.
+     * @return {@code Block} of the level.
+     * @throws NoSuchElementException when there is no level left.
+     */
+    Block nextBlock() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("There is no level left in " + mapSetName);
+        }
+        return readBlock(true);
+    }
+
+    /**
+     * This method goes past levels without building them, to reach level N of a large pack.
+     * @param count {@code int} number of levels to go past.
+     * @return {@code int} number of levels gone past, less than count if the file ended.
+     */
+    public int Skip(int count) {
+        int skipped = 0;
+        while (skipped < count && hasNext()) {
+            readBlock(false);
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * This method gets the levels left in the game file as a sequential {@code Stream}.
+     * Closing the stream closes the reader.
+     * @return {@code Stream<Level>} built one level at a time.
+     */
+    public Stream<Level> Stream() {
+        Spliterator<Level> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * This method reads the rows of the next level, up to the first row of the level after it.
+     * @param isKept {@code boolean} false to only go past the level.
+     * @return {@code Block} read, or {@code null} if it is not kept.
+     */
+    private Block readBlock(boolean isKept) {
+        String name = nextName;
+        int index = nextIndex++;
+        List<String> rows = isKept ? new ArrayList<>() : null;
+        if (isKept) {
+            rows.add(nextRow);
+        }
+        nextRow = null;
+
+        for (String line = readLine(); line != null; line = readLine()) {
+            String levelName = valueOf(line, LEVELNAME);
+            if (levelName != null) {
+                nextName = levelName;
+                nextRow = findRow();
+                break;
+            }
+            if (!readValue(line) && isKept && isRow(line)) {
+                rows.add(line.trim().toUpperCase());
+            }
+        }
+
+        return isKept ? new Block(name, index, rows) : null;
+    }
+
+    /**
+     * This method reads the lines before a level, up to its first row.
+     * A level name without any row is replaced by the next one.
+     * @return {@code String} first row of the level, or {@code null} at the end of the file.
+     */
+    private String findRow() {
+        for (String line = readLine(); line != null; line = readLine()) {
+            String levelName = valueOf(line, LEVELNAME);
+            if (levelName != null) {
+                nextName = levelName;
+            } else if (!readValue(line) && isRow(line)) {
+                return line.trim().toUpperCase();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method reads the map set name and the values of a saved game.
+     * @param line {@code String} line of the game file.
+     * @return {@code boolean} true if the line held one of those values.
+     */
+    private boolean readValue(String line) {
+        String value;
+        if ((value = valueOf(line, TOTALMOVES)) != null) {
+            movesCount = Integer.parseInt(value);
+        } else if ((value = valueOf(line, MOVES)) != null) {
+            movesCountLevel = Integer.parseInt(value);
+        } else if ((value = valueOf(line, TOTALTIME)) != null) {
+            timeTotal = Integer.parseInt(value);
+        } else if ((value = valueOf(line, TIME)) != null) {
+            timeLevel = Integer.parseInt(value);
+        } else if ((value = valueOf(line, LEVELINDEX)) != null) {
+            savedLevelIndex = Integer.parseInt(value);
+        } else if ((value = valueOf(line, MAPSETNAME)) != null) {
+            mapSetName = value;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * This method gets the value after a key at the start of a line.
+     * @param line {@code String} line of the game file.
+     * @param key {@code String} key, such as "LevelName".
+     * @return {@code String} value without the colon and the spaces around it,
+     * or {@code null} if the line does not start with the key.
+     */
+    private static String valueOf(String line, String key) {
+        if (!line.startsWith(key)) {
+            return null;
+        }
+
+        int start = key.length();
+        if (start < line.length() && line.charAt(start) == ':') {
+            start++;
+        }
+        return line.substring(start).trim();
+    }
+
+    /**
+     * This method checks whether a line is a row of a level, which has at least two walls.
+     * @param line {@code String} line of the game file.
+     * @return {@code boolean} true if the line is a row.
+     */
+    private static boolean isRow(String line) {
+        int walls = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char tile = line.charAt(i);
+            if ((tile == 'W' || tile == 'w') && ++walls == 2) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method reads one line of the game file.
+     * @return {@code String} line, or {@code null} at the end of the file.
+     * @throws UncheckedIOException when the file cannot be read.
+     */
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method closes the game file.
+     */
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This method gets the map set name.
+     * @return {@code String mapSetName}, empty if the file has none.
+     */
+    public String GetMapSetName() {
+        return mapSetName;
+    }
+
+    /**
+     * This method gets the total moves count of a saved game.
+     * @return {@code int movesCount}.
+     */
+    public int GetMovesCount() {
+        return movesCount;
+    }
+
+    /**
+     * This method gets the moves count of the current level of a saved game.
+     * @return {@code int movesCountLevel}.
+     */
+    public int GetMovesCountLevel() {
+        return movesCountLevel;
+    }
+
+    /**
+     * This method gets the time of the current level of a saved game.
+     * @return {@code int timeLevel}.
+     */
+    public int GetTimeLevel() {
+        return timeLevel;
+    }
+
+    /**
+     * This method gets the total time of a saved game.
+     * @return {@code int timeTotal}.
+     */
+    public int GetTimeTotal() {
+        return timeTotal;
+    }
+
+    /**
+     * This method gets the level index of a saved game.
+     * @return {@code int} saved level index, or -1 if the file is not a saved game.
+     */
+    public int GetSavedLevelIndex() {
+        return savedLevelIndex;
+    }
+
+    /**
+     * This method gets the index the next level will have.
+     * @return {@code int nextIndex}.
+     */
+    public int GetNextIndex() {
+        return nextIndex;
+    }
+
+    /**
+     * Block keeps the name, the index and the rows of a level that has been read but not built.
+     */
+    static final class Block {
+
+        private final String NAME;
+        private final int INDEX;
+        private final List<String> ROWS;
+
+        /**
+         * This is the only constructor of the Block class.
+         * @param name {@code String} level name.
+         * @param index {@code int} level index.
+         * @param rows {@code List<String>} rows of the level, trimmed and in upper case.
+         */
+        Block(String name, int index, List<String> rows) {
+            NAME = name;
+            INDEX = index;
+            ROWS = rows;
+        }
+
+        /**
+         * This method gets the level name.
+         * @return {@code String NAME}.
+         */
+        String getName() {
+            return NAME;
+        }
+
+        /**
+         * This method gets the level index.
+         * @return {@code int INDEX}.
+         */
+        int getIndex() {
+            return INDEX;
+        }
+
+        /**
+         * This method gets the rows of the level.
+         * @return {@code List<String> ROWS}.
+         */
+        List<String> getRows() {
+            return ROWS;
+        }
+
+        /**
+         * This method builds the level.
+         * @return {@code Level} of the block.
+         */
+        Level build() {
+            return new Level(NAME, INDEX, ROWS);
+        }
+    }
+}
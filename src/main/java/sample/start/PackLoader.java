@@ -0,0 +1,211 @@
+package sample.start;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * PackLoader loads and validates a level pack on every core of the machine.
+ * One thread reads the pack and splits it into level blocks with a {@code LevelReader},
+ * and each block is built and validated on a {@code ForkJoinPool} while the next ones are read.
+ * A level is valid when its rows are all the same length, it has exactly one keeper,
+ * as many crates as diamonds, and the keeper can walk to every diamond.
+ * The results are put back in the order of the pack in a {@code PackReport}.
+ *
+ * @author Shiqi XIN
+ */
+public class PackLoader {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * This constructor creates a loader with one worker per core.
+     */
+    public PackLoader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * This constructor creates a loader with the given number of workers.
+     * @param parallelism {@code int} number of worker threads.
+     */
+    public PackLoader(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * This method gets the number of worker threads.
+     * @return {@code int} parallelism of the pool.
+     */
+    public int GetParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * This method loads and validates every level of a pack.
+     * @param input {@code InputStream} of the pack, closed when it has been read.
+     * @return {@code PackReport} with the valid levels and the problems of the others.
+     */
+    public PackReport Load(InputStream input) {
+        long startTime = System.nanoTime();
+        List<ForkJoinTask<LevelCheck>> tasks = new ArrayList<>();
+        String mapSetName;
+
+        try (LevelReader reader = new LevelReader(input)) {
+            while (reader.hasNext()) {
+                LevelReader.Block block = reader.nextBlock();
+                tasks.add(pool.submit(() -> check(block)));
+            }
+            mapSetName = reader.GetMapSetName();
+        }
+
+        List<Level> levels = new ArrayList<>(tasks.size());
+        List<String> problems = new ArrayList<>();
+        for (ForkJoinTask<LevelCheck> task : tasks) {
+            LevelCheck check = task.join();
+            if (check.problems.isEmpty()) {
+                levels.add(check.level);
+            } else {
+                problems.addAll(check.problems);
+            }
+        }
+
+        return new PackReport(mapSetName, tasks.size(), levels, problems, System.nanoTime() - startTime);
+    }
+
+    /**
+     * This method stops the worker threads once the loader is no longer needed.
+     */
+    public void Shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * This method builds the level of a block and validates it.
+     * @param block {@code LevelReader.Block} of the level.
+     * @return {@code LevelCheck} with the level and its problems.
+     */
+    static LevelCheck check(LevelReader.Block block) {
+        String prefix = "Level " + (block.getIndex() + 1) + " (" + block.getName() + "): ";
+        List<String> problems = new ArrayList<>();
+
+        List<String> rows = block.getRows();
+        for (String row : rows) {
+            if (row.length() != rows.get(0).length()) {
+                problems.add(prefix + "the rows are not all the same length");
+                break;
+            }
+        }
+
+        Level level = block.build();
+        Board board = level.GetBoard();
+        int keepers = 0;
+        int crates = 0;
+        int diamonds = 0;
+        for (int index = 0; index < board.GetSize(); index++) {
+            if (board.Has(index, Board.KEEPER)) {
+                keepers++;
+            }
+            if (board.Has(index, Board.CRATE)) {
+                crates++;
+            }
+            if (board.Has(index, Board.GOAL)) {
+                diamonds++;
+            }
+        }
+
+        if (keepers != 1) {
+            problems.add(prefix + keepers + " keepers instead of 1");
+        }
+        if (crates != diamonds) {
+            problems.add(prefix + crates + " crates for " + diamonds + " diamonds");
+        }
+        if (keepers == 1) {
+            int unreachable = countUnreachableGoals(board, level.GetKeeperIndex());
+            if (unreachable > 0) {
+                problems.add(prefix + unreachable + " diamonds the keeper cannot reach");
+            }
+        }
+
+        return new LevelCheck(level, problems);
+    }
+
+    /**
+     * This method walks from the keeper through every cell that is not a wall,
+     * going through crates, and counts the diamonds it never reaches.
+     * @param board {@code Board} of the level.
+     * @param keeper {@code int} index of the keeper cell.
+     * @return {@code int} number of diamonds out of reach.
+     */
+    private static int countUnreachableGoals(Board board, int keeper) {
+        boolean[] reached = new boolean[board.GetSize()];
+        int[] queue = new int[board.GetSize()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = keeper;
+        reached[keeper] = true;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int direction = Board.UP; direction <= Board.LEFT; direction++) {
+                int next = board.Neighbour(cell, direction);
+                if (next != Board.BLOCKED && !reached[next] && !board.Has(next, Board.WALL)) {
+                    reached[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        int unreachable = 0;
+        for (int index = 0; index < board.GetSize(); index++) {
+            if (!reached[index] && board.Has(index, Board.GOAL)) {
+                unreachable++;
+            }
+        }
+        return unreachable;
+    }
+
+    /**
+     * This method loads and validates packs from the command line and prints their reports.
+     * @param args {@code String[]} the packs to be checked.
+     * @throws IOException when a pack cannot be opened.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: PackLoader <game file .skb>...");
+            return;
+        }
+
+        PackLoader loader = new PackLoader();
+        try {
+            for (String file : args) {
+                System.out.print(loader.Load(new FileInputStream(file)));
+            }
+        } finally {
+            loader.Shutdown();
+        }
+    }
+
+    /**
+     * LevelCheck keeps a level built on a worker with the problems found in it.
+     */
+    static final class LevelCheck {
+
+        private final Level level;
+        private final List<String> problems;
+
+        /**
+         * This is the only constructor of the LevelCheck class.
+         * @param level {@code Level} built.
+         * @param problems {@code List<String>} problems found, empty if the level is valid.
+         */
+        LevelCheck(Level level, List<String> problems) {
+            this.level = level;
+            this.problems = problems;
+        }
+    }
+}
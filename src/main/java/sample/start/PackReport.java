@@ -0,0 +1,100 @@
+package sample.start;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PackReport is the result of loading a level pack with the {@code PackLoader}.
+ * It keeps the levels that passed the validation, in the order of the pack,
+ * and one line for every problem found in the other levels.
+ *
+ * @author Shiqi XIN
+ */
+public final class PackReport {
+
+    private final String mapSetName;
+    private final int levelCount;
+    private final List<Level> levels;
+    private final List<String> problems;
+    private final long elapsedNanos;
+
+    /**
+     * This is the only constructor of the PackReport class.
+     * @param mapSetName {@code String} map set name of the pack.
+     * @param levelCount {@code int} number of levels read from the pack.
+     * @param levels {@code List<Level>} levels that passed the validation.
+     * @param problems {@code List<String>} problems of the levels that did not.
+     * @param elapsedNanos {@code long} wall-clock time of the loading in nanoseconds.
+     */
+    PackReport(String mapSetName, int levelCount, List<Level> levels, List<String> problems, long elapsedNanos) {
+        this.mapSetName = mapSetName;
+        this.levelCount = levelCount;
+        this.levels = Collections.unmodifiableList(levels);
+        this.problems = Collections.unmodifiableList(problems);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * This method gets the map set name of the pack.
+     * @return {@code String mapSetName}.
+     */
+    public String GetMapSetName() {
+        return mapSetName;
+    }
+
+    /**
+     * This method gets the number of levels read from the pack, valid or not.
+     * @return {@code int levelCount}.
+     */
+    public int GetLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * This method gets the levels that passed the validation.
+     * Their index is still their place in the pack.
+     * @return {@code List<Level> levels}, which cannot be modified.
+     */
+    public List<Level> GetLevels() {
+        return levels;
+    }
+
+    /**
+     * This method gets the problems found, one per line, starting with the level they belong to.
+     * @return {@code List<String> problems}, which cannot be modified.
+     */
+    public List<String> GetProblems() {
+        return problems;
+    }
+
+    /**
+     * This method checks whether every level of the pack passed the validation.
+     * @return {@code true} if no problem was found, else {@code false}.
+     */
+    public boolean IsValid() {
+        return problems.isEmpty();
+    }
+
+    /**
+     * This method gets the wall-clock time of the loading.
+     * @return {@code long elapsedNanos}.
+     */
+    public long GetElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * This method writes the report as text.
+     * @return {@code String} with a summary line and the problems.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(mapSetName).append(": ").append(levels.size()).append(" of ").append(levelCount)
+                .append(" levels valid in ").append(elapsedNanos / 1000000).append(" ms\n");
+        for (String problem : problems) {
+            report.append(problem).append('\n');
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package sample.start;
+
+/**
+ * ReplayResult is the result of playing a LURD string with the {@code Replayer}.
+ * It keeps the moves and pushes played, whether the level was solved,
+ * the state the level was left in, and where and why the replay stopped if a letter was illegal.
+ *
+ * @author Shiqi XIN
+ */
+public final class ReplayResult {
+
+    private final int moves;
+    private final int pushes;
+    private final boolean isSolved;
+    private final int errorIndex;
+    private final String error;
+    private final int keeper;
+    private final int[] crates;
+
+    /**
+     * This is the only constructor of the ReplayResult class.
+     * @param moves {@code int} number of letters played, pushes included.
+     * @param pushes {@code int} number of pushes played.
+     * @param isSolved {@code boolean} true if every crate is on a diamond at the end.
+     * @param errorIndex {@code int} index of the illegal letter, or -1 if every letter was played.
+     * @param error {@code String} why the letter is illegal, or {@code null}.
+     * @param keeper {@code int} index of the keeper cell at the end.
+     * @param crates {@code int[]} indexes of the crate cells at the end, in ascending order.
+     */
+    ReplayResult(int moves, int pushes, boolean isSolved, int errorIndex, String error, int keeper, int[] crates) {
+        this.moves = moves;
+        this.pushes = pushes;
+        this.isSolved = isSolved;
+        this.errorIndex = errorIndex;
+        this.error = error;
+        this.keeper = keeper;
+        this.crates = crates;
+    }
+
+    /**
+     * This method gets the number of letters played, pushes included.
+     * @return {@code int moves}.
+     */
+    public int GetMoves() {
+        return moves;
+    }
+
+    /**
+     * This method gets the number of pushes played.
+     * @return {@code int pushes}.
+     */
+    public int GetPushes() {
+        return pushes;
+    }
+
+    /**
+     * This method checks whether every letter was played.
+     * @return {@code boolean} true if no letter was illegal.
+     */
+    public boolean IsLegal() {
+        return errorIndex < 0;
+    }
+
+    /**
+     * This method checks whether the replay is a valid solution:
+     * every letter was played and every crate is on a diamond.
+     * @return {@code boolean} true if the level was solved.
+     */
+    public boolean IsSolved() {
+        return IsLegal() && isSolved;
+    }
+
+    /**
+     * This method gets the index of the illegal letter in the LURD string.
+     * @return {@code int errorIndex}, or -1 if every letter was played.
+     */
+    public int GetErrorIndex() {
+        return errorIndex;
+    }
+
+    /**
+     * This method gets why the replay stopped.
+     * @return {@code String error}, or {@code null} if every letter was played.
+     */
+    public String GetError() {
+        return error;
+    }
+
+    /**
+     * This method gets the index of the keeper cell at the end of the replay.
+     * @return {@code int keeper}.
+     */
+    public int GetKeeper() {
+        return keeper;
+    }
+
+    /**
+     * This method gets the indexes of the crate cells at the end of the replay.
+     * @return {@code int[]} copy of the crate cells in ascending order.
+     */
+    public int[] GetCrates() {
+        return crates.clone();
+    }
+
+    /**
+     * This method writes the result in one line.
+     * @return {@code String} of the result.
+     */
+    @Override
+    public String toString() {
+        String counts = moves + " moves and " + pushes + " pushes";
+        if (!IsLegal()) {
+            return "Illegal at " + errorIndex + " after " + counts + ": " + error;
+        }
+        return (isSolved ? "Solved in " : "Not solved after ") + counts;
+    }
+}
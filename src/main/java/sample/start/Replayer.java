@@ -0,0 +1,96 @@
+package sample.start;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Replayer checks solutions written in the LURD format on a level, without any user interface.
+ * A lower case letter is a move and an upper case letter is a push,
+ * and every letter is played with {@code Level.moveKeeper()}, the move of the game engine.
+ * A letter the keeper cannot play, a push written as a move or a move written as a push
+ * stops the replay. White space is skipped, so solutions can be split over lines.
+ * <p>
+ * The level is reset to its initial state before each replay, so one replayer
+ * checks any number of solutions of its level, and a step creates no object.
+ * A replayer changes its level, so each thread needs its own replayer and level.
+ *
+ * @author Shiqi XIN
+ */
+public final class Replayer {
+
+    private final Level level;
+
+    /**
+     * This is the only constructor of the Replayer class.
+     * @param level {@code Level} the solutions are checked on, used by this replayer only.
+     */
+    public Replayer(Level level) {
+        this.level = level;
+    }
+
+    /**
+     * This method plays a LURD string on the level from its initial state.
+     * @param lurd {@code CharSequence} of the moves and pushes.
+     * @return {@code ReplayResult} with the counts, the final state and whether the level was solved.
+     */
+    public ReplayResult Replay(CharSequence lurd) {
+        level.reset();
+        int moves = 0;
+        int pushes = 0;
+        int errorIndex = -1;
+        String error = null;
+
+        for (int i = 0; i < lurd.length(); i++) {
+            char c = lurd.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+
+            Direction direction = Direction.FromChar(c);
+            if (direction == null) {
+                errorIndex = i;
+                error = "'" + c + "' is not a LURD letter";
+                break;
+            }
+
+            boolean isPush = Character.isUpperCase(c);
+            int step = level.moveKeeper(direction.GetIndex());
+            if (step == Board.BLOCKED) {
+                errorIndex = i;
+                error = "the keeper cannot go " + direction.toString().toLowerCase();
+                break;
+            }
+            if (((step & Board.PUSH) != 0) != isPush) {
+                level.undoStep(step);
+                errorIndex = i;
+                error = isPush ? "'" + c + "' pushes no crate" : "'" + c + "' pushes a crate";
+                break;
+            }
+
+            moves++;
+            if (isPush) {
+                pushes++;
+            }
+        }
+
+        return new ReplayResult(moves, pushes, level.isComplete(), errorIndex, error,
+                level.GetKeeperIndex(), level.getCrates());
+    }
+
+    /**
+     * This method checks a solution of a level of a game file from the command line.
+     * @param args {@code String[]} the game file, the level number from 1 and the solution.
+     * @throws IOException when the game file cannot be opened.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.out.println("Usage: Replayer <game file .skb> <level number> <LURD solution>");
+            return;
+        }
+
+        try (LevelReader reader = new LevelReader(new FileInputStream(args[0]))) {
+            reader.Skip(Integer.parseInt(args[1]) - 1);
+            System.out.println(new Replayer(reader.next()).Replay(args[2]));
+        }
+    }
+}
@@ -0,0 +1,516 @@
+package sample.start;
+
+import sample.logger.GameLogger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+
+/**
+ * ScoreStore keeps the high score lists and the names of the levels of every pack in one file.
+ * An entry is found by the hash of its pack and the index of its level,
+ * in a skip list sorted by these keys, so a lookup takes a logarithmic time
+ * whatever the number of packs and levels.
+ * The whole game has its own entry, at the index {@code GAME}.
+ * Entries are created when they are first asked for, so a pack can have any number of levels.
+ * <p>
+ * The file is an append-only log with one record per score and per change of a level name,
+ * so saving a score only appends that score, whatever the size of the store.
+ * The records are appended on an {@code Executor}: a write waiting to start
+ * appends every record added until then.
+ * When more than half of the records are level names that were changed since,
+ * the log is compacted: the store is written to a temporary file that is moved over the log in one step.
+ * A record cut short by a crash is dropped when the store is loaded.
+ *
+ * @author Shiqi XIN
+ */
+public final class ScoreStore {
+
+    public static final int GAME = -1;
+
+    private static final int MAGIC = 0x534B4853;
+    private static final int VERSION = 2;
+    private static final int HEADERSIZE = Integer.BYTES + Byte.BYTES;
+    private static final int RECORDSIZE = Byte.BYTES + Long.BYTES + Integer.BYTES * 3 + Long.BYTES;
+    private static final byte SCORE = 0;
+    private static final byte LEVEL = 1;
+    private static final int COMPACTMIN = 256;
+    private static final long FNVOFFSET = 0xcbf29ce484222325L;
+    private static final long FNVPRIME = 0x100000001b3L;
+
+    private final File file;
+    private final File fileTemp;
+    private final Executor executor;
+    private final ConcurrentNavigableMap<Key, Entry> entries = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+    private final ByteArrayOutputStream pendingRecords = new ByteArrayOutputStream();
+    private int recordCount = 0;
+    private int obsoleteCount = 0;
+    private long length = 0;
+    private CompletableFuture<Void> pendingWrite;
+
+    /**
+     * This is the only constructor of the ScoreStore class.
+     * It loads the records already in the file, a missing file is an empty store.
+     * @param file {@code File} of the store, written by {@code Save()}.
+     * @param executor {@code Executor} that writes the store.
+     * @throws IOException when the file cannot be read or is not a store.
+     */
+    public ScoreStore(File file, Executor executor) throws IOException {
+        this.file = file;
+        this.fileTemp = new File(file.getPath() + ".tmp");
+        this.executor = executor;
+
+        ByteBuffer log;
+        try {
+            log = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        } catch (NoSuchFileException e) {
+            // A new store starts empty.
+            return;
+        }
+        if (log.remaining() < HEADERSIZE || log.getInt() != MAGIC) {
+            throw new IOException(file + " is not a score store.");
+        }
+        int version = log.get();
+        if (version != VERSION) {
+            throw new IOException("Score store version " + version + " is not supported.");
+        }
+
+        length = HEADERSIZE;
+        try {
+            while (log.hasRemaining() && readRecord(log)) {
+                length = log.position();
+            }
+        } catch (BufferUnderflowException e) {
+            // The last record was cut short, it is written over by the next record.
+        }
+        if (length < log.limit()) {
+            GameLogger.GetGameLogger().warning("Dropped " + (log.limit() - length)
+                    + " bytes at the end of the score store " + file);
+        }
+    }
+
+    /**
+     * This method reads one record of the log into its entry.
+     * @param log {@code ByteBuffer} positioned on the record.
+     * @return {@code boolean} true if the record was read, false if it is not a record.
+     * @throws BufferUnderflowException when the record is cut short.
+     */
+    private boolean readRecord(ByteBuffer log) {
+        byte kind = log.get();
+        if (kind != SCORE && kind != LEVEL) {
+            return false;
+        }
+
+        Key key = new Key(log.getLong(), log.getInt());
+        int nameLength = log.getInt();
+        if (nameLength < 0 || nameLength > log.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] name = new byte[nameLength];
+        log.get(name);
+        long value = log.getLong();
+        Entry entry = entries.computeIfAbsent(key, Entry::new);
+        if (kind == SCORE) {
+            entry.board.Add(new String(name, StandardCharsets.UTF_8), value, log.getInt());
+        } else {
+            if (entry.hasLevel()) {
+                obsoleteCount++;
+            }
+            entry.name = new String(name, StandardCharsets.UTF_8);
+            entry.layoutHash = value;
+        }
+        recordCount++;
+        return true;
+    }
+
+    /**
+     * This method hashes the map set name of a pack, to key its entries.
+     * @param mapSetName {@code String} map set name of the pack.
+     * @return {@code long} 64-bit FNV-1a hash of the name.
+     */
+    public static long PackHash(String mapSetName) {
+        long hash = FNVOFFSET;
+        for (byte b : mapSetName.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= FNVPRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * This method gets the entry of a level, and creates it if the level has none yet.
+     * @param packHash {@code long} hash of the pack from {@code PackHash()}.
+     * @param levelIndex {@code int} index of the level, or {@code GAME} for the whole game.
+     * @return {@code Entry} of the level.
+     */
+    public Entry GetEntry(long packHash, int levelIndex) {
+        return entries.computeIfAbsent(new Key(packHash, levelIndex), Entry::new);
+    }
+
+    /**
+     * This method checks whether a level has an entry, without creating it.
+     * @param packHash {@code long} hash of the pack from {@code PackHash()}.
+     * @param levelIndex {@code int} index of the level, or {@code GAME} for the whole game.
+     * @return {@code boolean} true if the level has an entry.
+     */
+    public boolean HasEntry(long packHash, int levelIndex) {
+        return entries.containsKey(new Key(packHash, levelIndex));
+    }
+
+    /**
+     * This method gets the number of entries of every pack.
+     * @return {@code int} number of entries.
+     */
+    public int GetEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * This method adds a score to the board of an entry and a record of it to the records to be written.
+     * @param entry {@code Entry} of the level.
+     * @param name {@code String} nickname of the player.
+     * @param time {@code long} time in seconds.
+     * @param moves {@code int} moves count.
+     * @return {@code HighScoreBoard.Score} added.
+     */
+    private synchronized HighScoreBoard.Score addScore(Entry entry, String name, long time, int moves) {
+        HighScoreBoard.Score score = entry.board.Add(name, time, moves);
+        writeRecord(pendingRecords, SCORE, entry.key, name, time, moves);
+        recordCount++;
+        return score;
+    }
+
+    /**
+     * This method changes the name and the fingerprint of the level of an entry,
+     * and adds a record of them to the records to be written if they changed.
+     * @param entry {@code Entry} of the level.
+     * @param name {@code String} name of the level.
+     * @param layoutHash {@code long} fingerprint of the level.
+     */
+    private synchronized void setLevel(Entry entry, String name, long layoutHash) {
+        if (entry.name.equals(name) && entry.layoutHash == layoutHash) {
+            return;
+        }
+        if (entry.hasLevel()) {
+            obsoleteCount++;
+        }
+        entry.name = name;
+        entry.layoutHash = layoutHash;
+        writeRecord(pendingRecords, LEVEL, entry.key, name, layoutHash, 0);
+        recordCount++;
+    }
+
+    /**
+     * This method writes one record of the log.
+     * @param output {@code ByteArrayOutputStream} the record is written to.
+     * @param kind {@code byte} {@code SCORE} or {@code LEVEL}.
+     * @param key {@code Key} of the entry.
+     * @param name {@code String} nickname of the player, or name of the level.
+     * @param value {@code long} time of the score, or fingerprint of the level.
+     * @param moves {@code int} moves count of the score, not written for a level.
+     */
+    private static void writeRecord(ByteArrayOutputStream output, byte kind, Key key,
+                                    String name, long value, int moves) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(RECORDSIZE + nameBytes.length);
+        record.put(kind).putLong(key.packHash).putInt(key.levelIndex)
+                .putInt(nameBytes.length).put(nameBytes).putLong(value);
+        if (kind == SCORE) {
+            record.putInt(moves);
+        }
+        output.write(record.array(), 0, record.position());
+    }
+
+    /**
+     * This method asks the executor to write the records added since the last write, without waiting for it.
+     * If a write is already waiting to start, it is returned instead of asking for another one.
+     * @return {@code CompletableFuture<Void>} completed once the records are on the disk,
+     * or completed exceptionally if they cannot be written.
+     */
+    public CompletableFuture<Void> Save() {
+        CompletableFuture<Void> write;
+        synchronized (this) {
+            if (pendingWrite != null) {
+                return pendingWrite;
+            }
+            write = new CompletableFuture<>();
+            pendingWrite = write;
+        }
+        executor.execute(() -> write(write));
+        return write;
+    }
+
+    /**
+     * This method appends the records added since the last write to the log,
+     * or compacts the log if most of its records are obsolete.
+     * Records that cannot be written are kept for the next write.
+     * @param write {@code CompletableFuture<Void>} returned by {@code Save()}.
+     */
+    private void write(CompletableFuture<Void> write) {
+        synchronized (this) {
+            pendingWrite = null;
+        }
+        synchronized (writeLock) {
+            byte[] records;
+            byte[] compacted = null;
+            int compactedRecords = 0;
+            int compactedObsolete = 0;
+            synchronized (this) {
+                records = pendingRecords.toByteArray();
+                pendingRecords.reset();
+                if (obsoleteCount >= COMPACTMIN && obsoleteCount * 2 >= recordCount) {
+                    ByteArrayOutputStream output = new ByteArrayOutputStream();
+                    compactedRecords = recordCount - writeEntries(output);
+                    compactedObsolete = obsoleteCount;
+                    compacted = output.toByteArray();
+                }
+            }
+
+            try {
+                if (compacted != null) {
+                    compact(compacted);
+                    synchronized (this) {
+                        recordCount -= compactedRecords;
+                        obsoleteCount -= compactedObsolete;
+                    }
+                } else {
+                    append(records);
+                }
+                write.complete(null);
+            } catch (IOException | RuntimeException e) {
+                if (compacted != null) {
+                    try {
+                        append(records);
+                        write.complete(null);
+                        return;
+                    } catch (IOException | RuntimeException appendError) {
+                        e.addSuppressed(appendError);
+                    }
+                }
+                synchronized (this) {
+                    byte[] later = pendingRecords.toByteArray();
+                    pendingRecords.reset();
+                    pendingRecords.write(records, 0, records.length);
+                    pendingRecords.write(later, 0, later.length);
+                }
+                write.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * This method writes the whole store as a log without obsolete records, in the order of the keys.
+     * The scores of an entry are written best first, so equal scores keep their order.
+     * @param output {@code ByteArrayOutputStream} the log is written to, after the header.
+     * @return {@code int} number of records written.
+     */
+    private int writeEntries(ByteArrayOutputStream output) {
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.hasLevel()) {
+                writeRecord(output, LEVEL, entry.key, entry.name, entry.layoutHash, 0);
+                count++;
+            }
+            for (HighScoreBoard.Score score : entry.board.getScores()) {
+                writeRecord(output, SCORE, entry.key, score.GetName(), score.GetTime(), score.GetMoves());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This method appends records at the end of the valid part of the log and forces them to the disk.
+     * The header is written first for a new log, and a record cut short by a crash is written over.
+     * @param records {@code byte[]} records to be appended.
+     * @throws IOException when the log cannot be written.
+     */
+    private void append(byte[] records) throws IOException {
+        if (records.length == 0) {
+            return;
+        }
+
+        Files.createDirectories(file.getAbsoluteFile().toPath().getParent());
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (length == 0) {
+                writeFully(channel, header());
+                length = HEADERSIZE;
+            }
+            channel.truncate(length);
+            channel.position(length);
+            writeFully(channel, ByteBuffer.wrap(records));
+            channel.force(false);
+        }
+        length += records.length;
+    }
+
+    /**
+     * This method writes a compacted log to a temporary file and moves it over the log in one step.
+     * @param records {@code byte[]} every record of the compacted log.
+     * @throws IOException when the log cannot be written.
+     */
+    private void compact(byte[] records) throws IOException {
+        Files.createDirectories(fileTemp.getAbsoluteFile().toPath().getParent());
+        try (FileChannel channel = FileChannel.open(fileTemp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header());
+            writeFully(channel, ByteBuffer.wrap(records));
+            channel.force(true);
+        }
+        Files.move(fileTemp.toPath(), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        length = HEADERSIZE + records.length;
+    }
+
+    /**
+     * This method creates the header of the log.
+     * @return {@code ByteBuffer} of the magic number and the version, ready to be written.
+     */
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADERSIZE);
+        header.putInt(MAGIC).put((byte) VERSION).flip();
+        return header;
+    }
+
+    /**
+     * This method writes every byte left in a buffer to a channel.
+     * @param channel {@code FileChannel} written to.
+     * @param buffer {@code ByteBuffer} to be written.
+     * @throws IOException when the channel cannot be written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * This method gets the number of records in the log, written or not, for the tests.
+     * @return {@code int recordCount}.
+     */
+    synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Key is the hash of a pack with the index of one of its levels.
+     */
+    private static final class Key implements Comparable<Key> {
+
+        private final long packHash;
+        private final int levelIndex;
+
+        /**
+         * This is the only constructor of the Key class.
+         * @param packHash {@code long} hash of the pack.
+         * @param levelIndex {@code int} index of the level.
+         */
+        Key(long packHash, int levelIndex) {
+            this.packHash = packHash;
+            this.levelIndex = levelIndex;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int order = Long.compare(packHash, other.packHash);
+            return order != 0 ? order : Integer.compare(levelIndex, other.levelIndex);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && compareTo((Key) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(packHash) * 31 + levelIndex;
+        }
+    }
+
+    /**
+     * Entry is the high score list of a level with what is known of the level.
+     * Scores and level names are changed through the entry, so the store records them.
+     */
+    public final class Entry {
+
+        private final Key key;
+        private final HighScoreBoard board = new HighScoreBoard();
+        private volatile String name = "";
+        private volatile long layoutHash = 0;
+
+        /**
+         * This is the only constructor of the Entry class.
+         * @param key {@code Key} of the entry in the store.
+         */
+        private Entry(Key key) {
+            this.key = key;
+        }
+
+        /**
+         * This method gets the high score list of the level, to read it.
+         * Scores added to the board directly are not saved, {@code AddScore()} adds them.
+         * @return {@code HighScoreBoard board}.
+         */
+        public HighScoreBoard GetBoard() {
+            return board;
+        }
+
+        /**
+         * This method adds a score to the high score list of the level.
+         * {@code Save()} writes it.
+         * @param name {@code String} nickname of the player.
+         * @param time {@code long} time in seconds.
+         * @param moves {@code int} moves count.
+         * @return {@code HighScoreBoard.Score} added, to find its rank.
+         */
+        public HighScoreBoard.Score AddScore(String name, long time, int moves) {
+            return addScore(this, name, time, moves);
+        }
+
+        /**
+         * This method gets the name of the level.
+         * @return {@code String name}, empty if it was never set.
+         */
+        public String GetName() {
+            return name;
+        }
+
+        /**
+         * This method gets the fingerprint of the level, to tell whether the level was changed.
+         * @return {@code long layoutHash}, 0 if it was never set.
+         */
+        public long GetLayoutHash() {
+            return layoutHash;
+        }
+
+        /**
+         * This method keeps the name and the fingerprint of the level.
+         * {@code Save()} writes them if they changed.
+         * @param level {@code Level} of the entry.
+         */
+        public void SetLevel(Level level) {
+            setLevel(this, level.getName(), level.getLayoutHash());
+        }
+
+        /**
+         * This method checks whether the name or the fingerprint of the level was ever set.
+         * @return {@code boolean} true if the entry has a level record.
+         */
+        private boolean hasLevel() {
+            return !name.isEmpty() || layoutHash != 0;
+        }
+    }
+}
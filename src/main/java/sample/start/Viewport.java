@@ -0,0 +1,156 @@
+package sample.start;
+
+/**
+ * Viewport is the window of rows and columns of a level that is shown on screen.
+ * It is never larger than its maximum size, however large the level is,
+ * and it scrolls to keep the keeper at least a margin away from its edges.
+ * It does not need JavaFX, the renderers only draw the cells it contains.
+ *
+ * @author Shiqi XIN
+ */
+public final class Viewport {
+
+    private final int MAXROWS;
+    private final int MAXCOLUMNS;
+    private final int MARGIN;
+    private int boardColumns = 0;
+    private int boardRows = 0;
+    private int rows = 0;
+    private int columns = 0;
+    private int top = 0;
+    private int left = 0;
+
+    /**
+     * This is the only constructor of the Viewport class.
+     * @param maxRows {@code int} largest number of rows shown.
+     * @param maxColumns {@code int} largest number of columns shown.
+     * @param margin {@code int} number of cells kept between the keeper and the edges, if the level allows it.
+     */
+    public Viewport(int maxRows, int maxColumns, int margin) {
+        if (maxRows <= 0 || maxColumns <= 0 || margin < 0) {
+            throw new IllegalArgumentException("The viewport must have at least one cell and no negative margin.");
+        }
+
+        MAXROWS = maxRows;
+        MAXCOLUMNS = maxColumns;
+        MARGIN = margin;
+    }
+
+    /**
+     * This method fits the viewport to a new board and centres it on the keeper.
+     * @param board {@code Board} to be shown.
+     * @param keeper {@code int} index of the keeper cell.
+     */
+    public void Reset(Board board, int keeper) {
+        boardRows = board.GetRows();
+        boardColumns = board.GetColumns();
+        rows = Math.min(MAXROWS, boardRows);
+        columns = Math.min(MAXCOLUMNS, boardColumns);
+        top = clamp(keeper / boardColumns - rows / 2, boardRows - rows);
+        left = clamp(keeper % boardColumns - columns / 2, boardColumns - columns);
+    }
+
+    /**
+     * This method scrolls the viewport if the keeper came too close to one of its edges.
+     * @param keeper {@code int} index of the keeper cell.
+     * @return {@code boolean} true if the viewport scrolled and every visible cell has to be drawn again.
+     */
+    public boolean Follow(int keeper) {
+        int newTop = follow(top, keeper / boardColumns, rows, boardRows);
+        int newLeft = follow(left, keeper % boardColumns, columns, boardColumns);
+        boolean isScrolled = newTop != top || newLeft != left;
+        top = newTop;
+        left = newLeft;
+        return isScrolled;
+    }
+
+    /**
+     * This method scrolls one axis of the viewport so that the keeper is inside its margin.
+     * @param start {@code int} first visible row or column.
+     * @param position {@code int} row or column of the keeper.
+     * @param length {@code int} number of visible rows or columns.
+     * @param boardLength {@code int} number of rows or columns of the board.
+     * @return {@code int} new first visible row or column.
+     */
+    private int follow(int start, int position, int length, int boardLength) {
+        int margin = Math.min(MARGIN, (length - 1) / 2);
+        if (position < start + margin) {
+            start = position - margin;
+        } else if (position > start + length - 1 - margin) {
+            start = position - length + 1 + margin;
+        }
+        return clamp(start, boardLength - length);
+    }
+
+    /**
+     * This method keeps the first visible row or column on the board.
+     * @param start {@code int} first visible row or column.
+     * @param max {@code int} largest first row or column that still fills the viewport.
+     * @return {@code int} start between 0 and max.
+     */
+    private static int clamp(int start, int max) {
+        return Math.max(0, Math.min(start, max));
+    }
+
+    /**
+     * This method checks if a cell of the board is shown.
+     * @param cell {@code int} index of the cell on the board.
+     * @return {@code boolean} true if the cell is inside the viewport.
+     */
+    public boolean Contains(int cell) {
+        int row = cell / boardColumns - top;
+        int column = cell % boardColumns - left;
+        return row >= 0 && row < rows && column >= 0 && column < columns;
+    }
+
+    /**
+     * This method gets the board cell shown at a place of the viewport.
+     * @param row {@code int} row in the viewport.
+     * @param column {@code int} column in the viewport.
+     * @return {@code int} index of the cell on the board.
+     */
+    public int CellAt(int row, int column) {
+        return (top + row) * boardColumns + left + column;
+    }
+
+    /**
+     * This method gets the place of a board cell in the viewport, row by row.
+     * @param cell {@code int} index of a cell inside the viewport.
+     * @return {@code int} index of the cell in the viewport.
+     */
+    public int ViewIndexOf(int cell) {
+        return (cell / boardColumns - top) * columns + cell % boardColumns - left;
+    }
+
+    /**
+     * This method gets the number of visible rows.
+     * @return {@code int rows}.
+     */
+    public int GetRows() {
+        return rows;
+    }
+
+    /**
+     * This method gets the number of visible columns.
+     * @return {@code int columns}.
+     */
+    public int GetColumns() {
+        return columns;
+    }
+
+    /**
+     * This method gets the first visible row of the board.
+     * @return {@code int top}.
+     */
+    public int GetTop() {
+        return top;
+    }
+
+    /**
+     * This method gets the first visible column of the board.
+     * @return {@code int left}.
+     */
+    public int GetLeft() {
+        return left;
+    }
+}
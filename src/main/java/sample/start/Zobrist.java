@@ -0,0 +1,64 @@
+package sample.start;
+
+/**
+ * Zobrist gives every cell a fixed random 64-bit key for a crate and for the keeper.
+ * The hash of a state is the XOR of the keys of its crates and keeper area,
+ * so moving a crate updates the hash with two XORs.
+ * Keys are mixed from the cell index instead of stored in tables,
+ * so the same state always gets the same hash in every level object and every run.
+ *
+ * @author Shiqi XIN
+ */
+public final class Zobrist {
+
+    private static final long CRATESEED = 0x9E3779B97F4A7C15L;
+    private static final long KEEPERSEED = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * The Zobrist class only has static methods.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * This method gets the key of a crate on a cell.
+     * @param cell {@code int} index of the cell.
+     * @return {@code long} key of the crate.
+     */
+    public static long CrateKey(int cell) {
+        return mix(CRATESEED * (cell + 1));
+    }
+
+    /**
+     * This method gets the key of the keeper area named by a cell.
+     * @param cell {@code int} smallest cell of the keeper area.
+     * @return {@code long} key of the keeper area.
+     */
+    public static long KeeperKey(int cell) {
+        return mix(KEEPERSEED * (cell + 1));
+    }
+
+    /**
+     * This method gets the hash of a set of crates.
+     * @param crates {@code int[]} cells of the crates.
+     * @return {@code long} XOR of the crate keys.
+     */
+    public static long HashCrates(int[] crates) {
+        long hash = 0;
+        for (int crate : crates) {
+            hash ^= CrateKey(crate);
+        }
+        return hash;
+    }
+
+    /**
+     * This method scrambles the bits of a number with the SplitMix64 finaliser.
+     * @param z {@code long} number to be scrambled.
+     * @return {@code long} scrambled number.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
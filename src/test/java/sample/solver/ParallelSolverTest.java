@@ -0,0 +1,55 @@
+package sample.solver;
+
+import org.junit.jupiter.api.Test;
+import sample.start.Level;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ParallelSolverTest {
+
+    private static Level turn() {
+        return new Level("turn", 0, List.of("WWWWWW", "WS   W", "W C  W", "W   DW", "WWWWWW"));
+    }
+
+    @Test
+    void testSolvePushes() {
+        ParallelSolver solver = new ParallelSolver(new MinimumPushHeuristic(), Solver.MAXSTATES, 2);
+        Solution solution = solver.Solve(turn(), Solver.Mode.PUSHES);
+        solver.Shutdown();
+        assertTrue(solution.IsSolved());
+        assertEquals(3, solution.GetPushCount());
+    }
+
+    @Test
+    void testSameLengthAsSolver() {
+        ParallelSolver solver = new ParallelSolver(new MinimumPushHeuristic(), Solver.MAXSTATES, 4);
+        Level level = new Level("two", 0, List.of("WWWWWWW", "WS    W", "W CC  W", "W   DDW", "WWWWWWW"));
+        Solution parallel = solver.Solve(level, Solver.Mode.MOVES);
+        Solution sequential = new Solver().Solve(level, Solver.Mode.MOVES);
+        solver.Shutdown();
+        assertTrue(parallel.IsSolved());
+        assertEquals(sequential.GetMoveCount(), parallel.GetMoveCount());
+    }
+
+    @Test
+    void testSolveAll() {
+        ParallelSolver solver = new ParallelSolver(new MinimumPushHeuristic(), Solver.MAXSTATES, 2);
+        Level stuck = new Level("stuck", 1, List.of("WWWWWW", "WDS CW", "WWWWWW"));
+        List<Solution> solutions = solver.SolveAll(List.of(turn(), stuck), Solver.Mode.PUSHES);
+        solver.Shutdown();
+        assertEquals(Solution.Status.SOLVED, solutions.get(0).GetStatus());
+        assertEquals(Solution.Status.UNSOLVABLE, solutions.get(1).GetStatus());
+    }
+
+    @Test
+    void testStatesPerSecond() {
+        ParallelSolver solver = new ParallelSolver(new MinimumPushHeuristic(), Solver.MAXSTATES, 2);
+        Solution solution = solver.Solve(turn(), Solver.Mode.MOVES);
+        solver.Shutdown();
+        assertTrue(solution.GetExploredStates() > 0);
+        assertTrue(solution.GetStatesPerSecond() > 0);
+    }
+
+}
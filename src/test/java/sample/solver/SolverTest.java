@@ -0,0 +1,73 @@
+package sample.solver;
+
+import org.junit.jupiter.api.Test;
+import sample.start.Level;
+import sample.start.StartMeUp;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SolverTest {
+
+    private static Level corridor() {
+        return new Level("corridor", 0, List.of("WWWWWWW", "WS C DW", "WWWWWWW"));
+    }
+
+    @Test
+    void testSolvePushes() {
+        Solution solution = new Solver().Solve(corridor(), Solver.Mode.PUSHES);
+        assertTrue(solution.IsSolved());
+        assertEquals("rRR", solution.GetMoves());
+        assertEquals(2, solution.GetPushCount());
+    }
+
+    @Test
+    void testSolveMoves() {
+        Level level = new Level("turn", 0, List.of("WWWWWW", "WS   W", "W C  W", "W   DW", "WWWWWW"));
+        Solution solution = new Solver().Solve(level, Solver.Mode.MOVES);
+        assertTrue(solution.IsSolved());
+        assertEquals(6, solution.GetMoveCount());
+        assertEquals(3, solution.GetPushCount());
+    }
+
+    @Test
+    void testAlreadySolved() {
+        Level level = new Level("solved", 0, List.of("WWWW", "WSOW", "WWWW"));
+        Solution solution = new Solver().Solve(level, Solver.Mode.PUSHES);
+        assertTrue(solution.IsSolved());
+        assertEquals("", solution.GetMoves());
+    }
+
+    @Test
+    void testUnsolvable() {
+        Level level = new Level("stuck", 0, List.of("WWWWWW", "WDS CW", "WWWWWW"));
+        Solution solution = new Solver().Solve(level, Solver.Mode.PUSHES);
+        assertEquals(Solution.Status.UNSOLVABLE, solution.GetStatus());
+    }
+
+    @Test
+    void testLimitReached() {
+        Level level = new Level("turn", 0, List.of("WWWWWW", "WS   W", "W C  W", "W   DW", "WWWWWW"));
+        Solution solution = new Solver(new MinimumPushHeuristic(), 1).Solve(level, Solver.Mode.MOVES);
+        assertEquals(Solution.Status.LIMIT_REACHED, solution.GetStatus());
+    }
+
+    @Test
+    void testMoveCrate() {
+        int[] crates = Solver.moveCrate(new int[] {3, 8, 12}, 0, 10);
+        assertArrayEquals(new int[] {8, 10, 12}, crates);
+    }
+
+    @Test
+    void testSolveSampleGame() throws FileNotFoundException {
+        StartMeUp startMeUp = new StartMeUp(new FileInputStream(new File("src/main/resources/SampleGame.skb")), false);
+        Solution solution = new Solver().Solve(startMeUp.GetCurrentLevel(), Solver.Mode.PUSHES);
+        assertTrue(solution.IsSolved());
+        assertEquals(19, solution.GetPushCount());
+    }
+
+}
@@ -0,0 +1,100 @@
+package sample.start;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class AutosaveJournalTest {
+
+    @AfterEach
+    void deleteTempFolders() throws IOException {
+        Fixtures.deleteTempFolders();
+    }
+
+    private static GameEngine sampleGame() throws FileNotFoundException {
+        return new GameEngine(new FileInputStream("src/main/resources/SampleGame.skb"));
+    }
+
+    @Test
+    void testRecover() throws IOException {
+        File folder = Fixtures.tempFolder("autosave");
+        GameEngine played = sampleGame();
+        AutosaveJournal journal = new AutosaveJournal(folder);
+        played.SelectLevel(1);
+        played.SetJournal(journal);
+        for (Direction direction : new Direction[] {Direction.DOWN, Direction.LEFT, Direction.LEFT, Direction.UP}) {
+            played.Move(direction);
+        }
+        played.Undo();
+        journal.close();
+
+        GameEngine gameEngine = sampleGame();
+        assertTrue(new AutosaveJournal(folder).Recover(gameEngine));
+        assertEquals(played.SaveGame(), gameEngine.SaveGame());
+        assertEquals(played.GetMovesCountLevel(), gameEngine.GetMovesCountLevel());
+        assertEquals(played.GetCurrentLevel().GetZobristHash(), gameEngine.GetCurrentLevel().GetZobristHash());
+    }
+
+    @Test
+    void testRecoverAfterCompaction() throws IOException {
+        File folder = Fixtures.tempFolder("autosave");
+        GameEngine played = sampleGame();
+        AutosaveJournal journal = new AutosaveJournal(folder);
+        played.SelectLevel(1);
+        played.SetJournal(journal);
+        for (int i = 0; i < 200; i++) {
+            assertTrue(played.Move(Direction.DOWN));
+            assertEquals(1, played.Undo());
+        }
+        played.Move(Direction.DOWN);
+        journal.close();
+        assertTrue(new File(folder, "journal.bin").length() < 400);
+
+        GameEngine gameEngine = sampleGame();
+        assertTrue(new AutosaveJournal(folder).Recover(gameEngine));
+        assertEquals(played.SaveGame(), gameEngine.SaveGame());
+        assertEquals(played.GetMovesCount(), gameEngine.GetMovesCount());
+    }
+
+    @Test
+    void testGenerationAfterFailedRecover() throws IOException {
+        File folder = Fixtures.tempFolder("autosave");
+        GameEngine played = sampleGame();
+        AutosaveJournal journal = new AutosaveJournal(folder);
+        played.SetJournal(journal);
+        played.SelectLevel(1);
+        journal.close();
+        File snapshot = new File(folder, "snapshot.skbs");
+        long generation = ByteBuffer.wrap(Files.readAllBytes(snapshot.toPath())).getLong();
+        assertEquals(2, generation);
+
+        journal = new AutosaveJournal(folder);
+        assertFalse(journal.Recover(Fixtures.corridorGame("Corridor")));
+        Fixtures.corridorGame("Corridor").SetJournal(journal);
+        journal.close();
+        assertEquals(generation + 1, ByteBuffer.wrap(Files.readAllBytes(snapshot.toPath())).getLong());
+    }
+
+    @Test
+    void testNothingToRecover() throws IOException {
+        File folder = Fixtures.tempFolder("autosave");
+        GameEngine gameEngine = sampleGame();
+        assertFalse(new AutosaveJournal(folder).Recover(gameEngine));
+
+        AutosaveJournal journal = new AutosaveJournal(folder);
+        gameEngine.SetJournal(journal);
+        gameEngine.Move(Direction.DOWN);
+        journal.Clear();
+        journal.close();
+        assertFalse(new File(folder, "snapshot.skbs").exists());
+        assertFalse(new AutosaveJournal(folder).Recover(sampleGame()));
+    }
+}
@@ -0,0 +1,76 @@
+package sample.start;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sample.objects.GameObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BoardTest {
+
+    private static List<String> raw_level;
+
+    @BeforeAll
+    static void initAll() {
+        raw_level = new ArrayList<String>(4);
+        raw_level.add(0, "WWWW");
+        raw_level.add(1, "WOKW");
+        raw_level.add(2, "WCDW");
+        raw_level.add(3, "WWWW");
+    }
+
+    @Test
+    void testIndexOf() {
+        Board board = new Board(3, 4);
+        assertEquals(9, board.IndexOf(2, 1));
+    }
+
+    @Test
+    void testIndexOfOutOfBounds() {
+        Board board = new Board(3, 4);
+        try {
+            board.IndexOf(3, 0);
+            fail("Expected ArrayIndexOutOfBoundsException");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("outside the map"));
+        }
+    }
+
+    @Test
+    void testGetObjectAt() {
+        Board board = new Level("board", 0, raw_level).GetBoard();
+        assertEquals(GameObject.CRATE, board.GetObjectAt(board.IndexOf(1, 1)));
+        assertEquals(GameObject.KEEPER, board.GetObjectAt(board.IndexOf(1, 2)));
+        assertEquals(GameObject.FLOOR, board.GetObjectAt(board.IndexOf(2, 2)));
+    }
+
+    @Test
+    void testGetTileAt() {
+        Board board = new Level("board", 0, raw_level).GetBoard();
+        assertEquals(GameObject.CRATE_ON_DIAMOND, board.GetTileAt(board.IndexOf(1, 1)));
+        assertEquals(GameObject.KEEPER_ON_DIAMOND, board.GetTileAt(board.IndexOf(1, 2)));
+        assertEquals(GameObject.DIAMOND, board.GetTileAt(board.IndexOf(2, 2)));
+        assertEquals(GameObject.CRATE, board.GetTileAt(board.IndexOf(2, 1)));
+    }
+
+    @Test
+    void testPutObjectAtKeepsGoal() {
+        Board board = new Level("board", 0, raw_level).GetBoard();
+        int index = board.IndexOf(2, 2);
+        board.putObjectAt(GameObject.CRATE, index);
+        assertTrue(board.Has(index, Board.CRATE | Board.GOAL));
+        board.putObjectAt(GameObject.FLOOR, index);
+        assertEquals(Board.GOAL, board.GetCell(index));
+    }
+
+    @Test
+    void testToString() {
+        Board board = new Level("board", 0, raw_level).GetBoard();
+        assertEquals("WWWW\nWCSW\nWC W\nWWWW\n", board.toString());
+        assertEquals("WWWW\nWOKW\nWCDW\nWWWW\n", board.toString(true));
+    }
+
+}
@@ -0,0 +1,80 @@
+package sample.start;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DeadlockTest {
+
+    private static boolean[] cratesOf(Board board) {
+        boolean[] crates = new boolean[board.GetSize()];
+        for (int cell = 0; cell < board.GetSize(); cell++) {
+            crates[cell] = board.Has(cell, Board.CRATE);
+        }
+        return crates;
+    }
+
+    private static Deadlock.Reason check(List<String> rawLevel, int row, int col) {
+        Level level = new Level("deadlock", 0, rawLevel);
+        Board board = level.GetBoard();
+        Deadlock deadlock = new Deadlock(board, level.GetDeadSquares(), true);
+        return deadlock.CheckPush(board, board.IndexOf(row, col), level.GetKeeperIndex());
+    }
+
+    @Test
+    void testCheckPushNone() {
+        assertEquals(Deadlock.Reason.NONE, check(List.of("WWWWWWW", "WD   DW", "W  C  W", "W CS  W", "W    OW", "WWWWWWW"), 2, 3));
+    }
+
+    @Test
+    void testCheckPushDeadSquare() {
+        assertEquals(Deadlock.Reason.DEAD_SQUARE, check(List.of("WWWWWWW", "WC   DW", "W  C  W", "WS  CDW", "W    DW", "WWWWWWW"), 1, 1));
+    }
+
+    @Test
+    void testCheckPushFreeze() {
+        assertEquals(Deadlock.Reason.FREEZE, check(List.of("WWWWWWW", "WDCCD W", "W     W", "W  S DW", "W    CW", "WWWWWWW"), 1, 3));
+    }
+
+    @Test
+    void testCheckPushFreezeOnGoals() {
+        assertEquals(Deadlock.Reason.NONE, check(List.of("WWWWWWW", "W OO  W", "W     W", "W  S DW", "W    CW", "WWWWWWW"), 1, 3));
+    }
+
+    @Test
+    void testCheckPushCorral() {
+        assertEquals(Deadlock.Reason.CORRAL, check(List.of("WWWWWW", "WDOWWW", "WOSC W", "WW   W", "WWWWWW"), 2, 1));
+    }
+
+    @Test
+    void testCheckPushArray() {
+        Level level = new Level("deadlock", 0, List.of("WWWWWW", "WDOWWW", "WOSC W", "WW   W", "WWWWWW"));
+        Board board = level.GetBoard();
+        Deadlock deadlock = new Deadlock(board, level.GetDeadSquares(), true);
+        boolean[] crates = cratesOf(board);
+        assertEquals(Deadlock.Reason.CORRAL, deadlock.CheckPush(crates, board.IndexOf(2, 1), level.GetKeeperIndex()));
+        crates[board.IndexOf(1, 2)] = false;
+        crates[board.IndexOf(1, 1)] = true;
+        assertEquals(Deadlock.Reason.CORRAL, deadlock.CheckPush(board, board.IndexOf(2, 1), level.GetKeeperIndex()));
+        assertEquals(Deadlock.Reason.NONE, deadlock.CheckPush(crates, board.IndexOf(2, 1), level.GetKeeperIndex()));
+    }
+
+    @Test
+    void testCheckPushUnbalanced() {
+        Level level = new Level("deadlock", 0, List.of("WWWWWWW", "WC   DW", "WS C  W", "WWWWWWW"));
+        Board board = level.GetBoard();
+        Deadlock deadlock = new Deadlock(board, level.GetDeadSquares(), false);
+        assertEquals(Deadlock.Reason.NONE, deadlock.CheckPush(cratesOf(board), board.IndexOf(1, 1), level.GetKeeperIndex()));
+    }
+
+    @Test
+    void testCopy() {
+        Level level = new Level("deadlock", 0, List.of("WWWWWWW", "WDCCD W", "W     W", "W  S DW", "W    CW", "WWWWWWW"));
+        Board board = level.GetBoard();
+        Deadlock deadlock = new Deadlock(board, level.GetDeadSquares(), true).Copy();
+        assertEquals(Deadlock.Reason.FREEZE, deadlock.CheckPush(cratesOf(board), board.IndexOf(1, 2), level.GetKeeperIndex()));
+    }
+
+}
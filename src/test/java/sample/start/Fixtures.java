@@ -0,0 +1,81 @@
+package sample.start;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Fixtures keeps the levels and the temporary files shared by the tests of the game.
+ */
+final class Fixtures {
+
+    static final List<String> CORRIDOR = List.of("WWWWWW", "WS CDW", "WWWWWW");
+    private static final List<Path> TEMPFOLDERS = new ArrayList<>();
+
+    private Fixtures() {
+    }
+
+    /**
+     * This method builds a corridor with one crate, one step before its diamond.
+     * @return {@code Level} solved by "rR".
+     */
+    static Level corridor() {
+        return new Level("corridor", 0, CORRIDOR);
+    }
+
+    /**
+     * This method opens a game file with the corridor as its only level.
+     * @param mapSetName {@code String} map set name of the game file.
+     * @return {@code GameEngine} on the corridor.
+     */
+    static GameEngine corridorGame(String mapSetName) {
+        String game = "MapSetName: " + mapSetName + "\nLevelName: one\n" + String.join("\n", CORRIDOR) + "\n";
+        return new GameEngine(new ByteArrayInputStream(game.getBytes()));
+    }
+
+    /**
+     * This method creates an empty temporary folder, deleted with its content by {@code deleteTempFolders()}.
+     * @param prefix {@code String} prefix of the folder name.
+     * @return {@code File} of the folder.
+     * @throws IOException when the folder cannot be created.
+     */
+    static File tempFolder(String prefix) throws IOException {
+        Path folder = Files.createTempDirectory(prefix);
+        TEMPFOLDERS.add(folder);
+        return folder.toFile();
+    }
+
+    /**
+     * This method names a file that does not exist yet in a new temporary folder,
+     * deleted with the folder by {@code deleteTempFolders()}.
+     * @param prefix {@code String} prefix of the folder name.
+     * @param name {@code String} name of the file.
+     * @return {@code File} of the file.
+     * @throws IOException when the folder cannot be created.
+     */
+    static File tempFile(String prefix, String name) throws IOException {
+        return new File(tempFolder(prefix), name);
+    }
+
+    /**
+     * This method deletes the temporary folders created since it was last called, with everything in them.
+     * It is called after each test that writes files.
+     * @throws IOException when a file cannot be deleted.
+     */
+    static void deleteTempFolders() throws IOException {
+        for (Path folder : TEMPFOLDERS) {
+            try (Stream<Path> paths = Files.walk(folder)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+        TEMPFOLDERS.clear();
+    }
+}
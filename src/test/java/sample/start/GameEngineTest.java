@@ -0,0 +1,216 @@
+package sample.start;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
+import static org.junit.Assert.*;
+
+public class GameEngineTest {
+
+    private static InputStream input;
+
+    static void initAll() {
+        try {
+            input = new FileInputStream(new File("src/main/resources/SampleGame.skb"));
+        } catch (FileNotFoundException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testGetMapSetName() {
+        initAll();
+        GameEngine gameEngine = new GameEngine(input);
+        assertEquals("Example Game!", gameEngine.GetMapSetName());
+    }
+
+    @Test
+    void testMove() {
+        GameEngine gameEngine = Fixtures.corridorGame("Corridor");
+        assertTrue(gameEngine.Move(Direction.RIGHT));
+        assertEquals(1, gameEngine.GetMovesCountLevel());
+        assertEquals("WWWWWW\nW SCDW\nWWWWWW\n", gameEngine.GetCurrentLevel().SaveLevel());
+    }
+
+    @Test
+    void testMoveBlocked() {
+        GameEngine gameEngine = Fixtures.corridorGame("Corridor");
+        assertFalse(gameEngine.Move(Direction.UP));
+        assertEquals(0, gameEngine.GetMovesCountLevel());
+    }
+
+    @Test
+    void testMoveCompletesGame() {
+        GameEngine gameEngine = Fixtures.corridorGame("Corridor");
+        gameEngine.Move(Direction.RIGHT);
+        gameEngine.Move(Direction.RIGHT);
+        assertTrue(gameEngine.IsGameComplete());
+        assertFalse(gameEngine.Move(Direction.LEFT));
+    }
+
+    @Test
+    void testUndo() {
+        GameEngine gameEngine = Fixtures.corridorGame("Corridor");
+        assertEquals(0, gameEngine.Undo());
+        gameEngine.Move(Direction.RIGHT);
+        assertEquals(1, gameEngine.Undo());
+        assertEquals("WWWWWW\nWS CDW\nWWWWWW\n", gameEngine.GetCurrentLevel().SaveLevel());
+    }
+
+    @Test
+    void testRedo() {
+        GameEngine gameEngine = Fixtures.corridorGame("Corridor");
+        assertEquals(0, gameEngine.Redo());
+        gameEngine.Move(Direction.RIGHT);
+        gameEngine.Undo();
+        assertEquals(1, gameEngine.Redo());
+        assertEquals(1, gameEngine.GetMovesCountLevel());
+        assertEquals("WWWWWW\nW SCDW\nWWWWWW\n", gameEngine.GetCurrentLevel().SaveLevel());
+        assertEquals(0, gameEngine.Redo());
+
+        gameEngine.Undo();
+        assertTrue(gameEngine.Move(Direction.RIGHT));
+        assertEquals(0, gameEngine.Redo());
+    }
+
+    @Test
+    void testRedoCompletesGame() {
+        GameEngine gameEngine = Fixtures.corridorGame("Corridor");
+        gameEngine.Move(Direction.RIGHT);
+        gameEngine.Move(Direction.RIGHT);
+        assertTrue(gameEngine.IsGameComplete());
+
+        gameEngine = Fixtures.corridorGame("Corridor");
+        gameEngine.Move(Direction.RIGHT);
+        gameEngine.ResetLevel();
+        gameEngine.Move(Direction.RIGHT);
+        gameEngine.Undo();
+        assertEquals(1, gameEngine.Redo());
+        assertFalse(gameEngine.IsGameComplete());
+    }
+
+    @Test
+    void testResetLevel() {
+        initAll();
+        GameEngine gameEngine = new GameEngine(input);
+        String start = gameEngine.SaveGame();
+        gameEngine.Move(Direction.LEFT);
+        gameEngine.Move(Direction.UP);
+        gameEngine.ResetLevel();
+        assertEquals(0, gameEngine.GetMovesCountLevel());
+        assertEquals(start, gameEngine.SaveGame());
+    }
+
+    @Test
+    void testResetLevelRedo() {
+        GameEngine gameEngine = Fixtures.corridorGame("Corridor");
+        gameEngine.Move(Direction.RIGHT);
+        gameEngine.ClearDirtyCells();
+        gameEngine.ResetLevel();
+        assertTrue(gameEngine.IsFullRedraw());
+        assertEquals("WWWWWW\nWS CDW\nWWWWWW\n", gameEngine.GetCurrentLevel().SaveLevel());
+        assertEquals(1, gameEngine.Redo());
+        assertEquals("WWWWWW\nW SCDW\nWWWWWW\n", gameEngine.GetCurrentLevel().SaveLevel());
+    }
+
+    @Test
+    void testResetLevelAfterRestore() {
+        String game = "MapSetName: Long\nLevelName: long\nWWWWWWWW\nWS C  DW\nWWWWWWWW\n";
+        GameEngine played = new GameEngine(new ByteArrayInputStream(game.getBytes()));
+        played.Move(Direction.RIGHT);
+        GameSave save = played.CreateSave(0, 0, false);
+
+        GameEngine gameEngine = new GameEngine(new ByteArrayInputStream(game.getBytes()));
+        assertTrue(gameEngine.RestoreSave(save));
+        gameEngine.Move(Direction.RIGHT);
+        assertFalse(gameEngine.CreateSave(0, 0, true).HasHistory());
+        gameEngine.ResetLevel();
+        assertEquals("WWWWWWWW\nWS C  DW\nWWWWWWWW\n", gameEngine.GetCurrentLevel().SaveLevel());
+        assertEquals(0, gameEngine.Redo());
+        assertEquals(0, gameEngine.Undo());
+        assertEquals("WWWWWWWW\nWS C  DW\nWWWWWWWW\n", gameEngine.GetCurrentLevel().SaveLevel());
+
+        gameEngine.Move(Direction.RIGHT);
+        gameEngine.ResetLevel();
+        assertEquals(1, gameEngine.Redo());
+        assertEquals(1, gameEngine.Undo());
+        assertEquals("WWWWWWWW\nWS C  DW\nWWWWWWWW\n", gameEngine.GetCurrentLevel().SaveLevel());
+    }
+
+    @Test
+    void testDirectionFromChar() {
+        assertEquals(Direction.LEFT, Direction.FromChar('L'));
+        assertEquals(Board.DOWN, Direction.FromChar('d').GetIndex());
+        assertNull(Direction.FromChar('x'));
+    }
+
+    @Test
+    void testDirtyCells() {
+        GameEngine gameEngine = Fixtures.corridorGame("Corridor");
+        assertTrue(gameEngine.IsFullRedraw());
+        gameEngine.ClearDirtyCells();
+        assertFalse(gameEngine.IsFullRedraw());
+        assertEquals(-1, gameEngine.NextDirtyCell(0));
+
+        gameEngine.Move(Direction.RIGHT);
+        assertEquals(7, gameEngine.NextDirtyCell(0));
+        assertEquals(8, gameEngine.NextDirtyCell(8));
+        assertEquals(-1, gameEngine.NextDirtyCell(9));
+        gameEngine.ClearDirtyCells();
+
+        gameEngine.Undo();
+        assertEquals(7, gameEngine.NextDirtyCell(0));
+        assertEquals(-1, gameEngine.NextDirtyCell(9));
+    }
+
+    @Test
+    void testDirtyCellsPush() {
+        String game = "LevelName: push\nWWWWWWW\nWSC  DW\nWWWWWWW\n";
+        GameEngine gameEngine = new GameEngine(new ByteArrayInputStream(game.getBytes()));
+        gameEngine.ClearDirtyCells();
+        gameEngine.Move(Direction.RIGHT);
+        assertEquals(8, gameEngine.NextDirtyCell(0));
+        assertEquals(9, gameEngine.NextDirtyCell(9));
+        assertEquals(10, gameEngine.NextDirtyCell(10));
+        assertEquals(-1, gameEngine.NextDirtyCell(11));
+    }
+
+    @Test
+    void testDirtyCellsLevelComplete() {
+        GameEngine gameEngine = Fixtures.corridorGame("Corridor");
+        gameEngine.Move(Direction.RIGHT);
+        gameEngine.ClearDirtyCells();
+        gameEngine.Move(Direction.RIGHT);
+        assertTrue(gameEngine.IsFullRedraw());
+    }
+
+    @Test
+    void testSelectLevel() {
+        initAll();
+        GameEngine gameEngine = new GameEngine(input);
+        assertTrue(gameEngine.SelectLevel(2));
+        assertEquals(2, gameEngine.GetLevelIndex());
+        assertFalse(gameEngine.SelectLevel(1));
+        assertTrue(gameEngine.SelectLevel(5));
+        assertTrue(gameEngine.IsFullRedraw());
+        assertFalse(gameEngine.SelectLevel(6));
+        assertEquals(5, gameEngine.GetLevelIndex());
+    }
+
+    @Test
+    void testSaveGameThenSelectLevel() {
+        initAll();
+        GameEngine gameEngine = new GameEngine(input);
+        String saved = gameEngine.SaveGame();
+        assertEquals(saved, gameEngine.SaveGame());
+        assertTrue(gameEngine.SelectLevel(3));
+        assertTrue(saved.endsWith(gameEngine.SaveGame()));
+        assertFalse(gameEngine.SelectLevel(6));
+    }
+
+}
@@ -0,0 +1,108 @@
+package sample.start;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class GameSaveTest {
+
+    private static GameEngine sampleGame() throws FileNotFoundException {
+        return new GameEngine(new FileInputStream("src/main/resources/SampleGame.skb"));
+    }
+
+    private static GameEngine playedGame() throws FileNotFoundException {
+        GameEngine gameEngine = sampleGame();
+        gameEngine.SelectLevel(1);
+        for (Direction direction : new Direction[] {Direction.DOWN, Direction.LEFT, Direction.LEFT, Direction.UP}) {
+            gameEngine.Move(direction);
+        }
+        return gameEngine;
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        GameEngine gameEngine = playedGame();
+        GameSave save = GameSave.FromBytes(gameEngine.CreateSave(12, 34, true).ToBytes());
+        assertEquals("Example Game!", save.GetMapSetName());
+        assertEquals(1, save.GetLevelIndex());
+        assertEquals(gameEngine.GetMovesCount(), save.GetMovesCount());
+        assertEquals(gameEngine.GetMovesCountLevel(), save.GetMovesCountLevel());
+        assertEquals(12, save.GetTimeLevel());
+        assertEquals(34, save.GetTimeTotal());
+        assertEquals(gameEngine.GetCurrentLevel().GetKeeperIndex(), save.GetKeeper());
+        assertTrue(Arrays.equals(gameEngine.GetCurrentLevel().getCrates(), save.GetCrates()));
+        assertEquals(gameEngine.GetMovesCountLevel(), save.GetHistory().length);
+    }
+
+    @Test
+    void testSize() throws FileNotFoundException {
+        GameEngine gameEngine = playedGame();
+        int textSize = gameEngine.SaveGame().length();
+        assertTrue(gameEngine.CreateSave(12, 34, false).ToBytes().length * 50 < textSize);
+        assertFalse(gameEngine.CreateSave(12, 34, false).HasHistory());
+    }
+
+    @Test
+    void testRestore() throws IOException {
+        GameEngine played = playedGame();
+        byte[] bytes = played.CreateSave(12, 34, true).ToBytes();
+
+        GameEngine gameEngine = sampleGame();
+        assertTrue(gameEngine.RestoreSave(GameSave.Read(new ByteArrayInputStream(bytes))));
+        assertEquals(played.SaveGame(), gameEngine.SaveGame());
+        assertEquals(played.GetMovesCountLevel(), gameEngine.GetMovesCountLevel());
+        assertEquals(12, gameEngine.GetTimeLevel());
+        assertEquals(played.GetCurrentLevel().GetZobristHash(), gameEngine.GetCurrentLevel().GetZobristHash());
+
+        while (played.Undo() == 1) {
+            assertEquals(1, gameEngine.Undo());
+            assertEquals(played.SaveGame(), gameEngine.SaveGame());
+        }
+        assertEquals(0, gameEngine.Undo());
+    }
+
+    @Test
+    void testRestoreOtherPack() throws IOException {
+        GameSave save = playedGame().CreateSave(0, 0, false);
+        GameEngine gameEngine = Fixtures.corridorGame("Other");
+        assertFalse(gameEngine.RestoreSave(save));
+    }
+
+    @Test
+    void testBadBytes() throws IOException {
+        byte[] bytes = playedGame().CreateSave(0, 0, true).ToBytes();
+        try {
+            GameSave.FromBytes(Arrays.copyOf(bytes, bytes.length - 3));
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("truncated"));
+        }
+
+        byte[] huge = Arrays.copyOf(bytes, 11);
+        huge[6] = (byte) 0xFF;
+        huge[7] = (byte) 0xFF;
+        huge[8] = (byte) 0xFF;
+        huge[9] = (byte) 0xFF;
+        huge[10] = 0x07;
+        try {
+            GameSave.FromBytes(huge);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("truncated"));
+        }
+
+        bytes[0] = 'X';
+        try {
+            GameSave.FromBytes(bytes);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("not a binary save"));
+        }
+    }
+}
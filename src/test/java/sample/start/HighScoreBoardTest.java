@@ -0,0 +1,51 @@
+package sample.start;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HighScoreBoardTest {
+
+    @Test
+    void testOrder() {
+        HighScoreBoard board = new HighScoreBoard();
+        board.Add("slow", 30, 10);
+        board.Add("fast", 10, 50);
+        HighScoreBoard.Score first = board.Add("tie", 20, 20);
+        HighScoreBoard.Score second = board.Add("tie again", 20, 20);
+        board.Add("fewer moves", 20, 5);
+
+        List<HighScoreBoard.Score> top = board.GetTop(10);
+        assertEquals(5, top.size());
+        assertEquals("fast", top.get(0).GetName());
+        assertEquals("fewer moves", top.get(1).GetName());
+        assertEquals("tie", top.get(2).GetName());
+        assertEquals("tie again", top.get(3).GetName());
+        assertEquals("slow", top.get(4).GetName());
+        assertEquals(3, board.GetRank(first));
+        assertEquals(4, board.GetRank(second));
+        assertEquals(2, board.GetTop(2).size());
+    }
+
+    @Test
+    void testConcurrentAdd() throws Exception {
+        HighScoreBoard board = new HighScoreBoard();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    board.Add("player", i * threads.length + offset, 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(200, board.GetSize());
+        assertEquals(0, board.GetTop(1).get(0).GetTime());
+    }
+}
@@ -0,0 +1,94 @@
+package sample.start;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LevelLibraryTest {
+
+    private static final String SAMPLEGAME = "src/main/resources/SampleGame.skb";
+
+    @AfterEach
+    void deleteTempFolders() throws IOException {
+        Fixtures.deleteTempFolders();
+    }
+
+    private static File convert() throws IOException {
+        File file = Fixtures.tempFile("library", "SampleGame.skbl");
+        try (InputStream input = new FileInputStream(SAMPLEGAME)) {
+            assertEquals(6, LevelLibrary.Convert(input, file));
+        }
+        return file;
+    }
+
+    @Test
+    void testConvert() throws IOException {
+        List<Level> levels = new ArrayList<>();
+        new LevelReader(new FileInputStream(SAMPLEGAME)).forEachRemaining(levels::add);
+
+        try (LevelLibrary library = new LevelLibrary(convert())) {
+            assertEquals(6, library.GetLevelCount());
+            assertEquals("Example Game!", library.GetMapSetName());
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                Level level = library.GetLevel(i);
+                assertEquals(i, level.getIndex());
+                assertEquals(levels.get(i).getName(), level.getName());
+                assertEquals(levels.get(i).SaveLevel(), level.SaveLevel());
+                assertEquals(levels.get(i).GetKeeperIndex(), level.GetKeeperIndex());
+                assertEquals(levels.get(i).GetNumberOfDiamonds(), level.GetNumberOfDiamonds());
+            }
+        }
+    }
+
+    @Test
+    void testGetLevelOutOfRange() throws IOException {
+        try (LevelLibrary library = new LevelLibrary(convert())) {
+            library.GetLevel(6);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("6"));
+        }
+    }
+
+    @Test
+    void testNotALibrary() throws IOException {
+        File file = Fixtures.tempFile("library", "NotALibrary.skbl");
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("MapSetName: text\nLevelName: one\nWWWW\n");
+        }
+        try {
+            new LevelLibrary(file);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("not a level library"));
+        }
+    }
+
+    @Test
+    void testGameEngine() throws IOException {
+        try (LevelLibrary library = new LevelLibrary(convert())) {
+            GameEngine gameEngine = new GameEngine(library);
+            assertEquals("Example Game!", gameEngine.GetMapSetName());
+            assertEquals(0, gameEngine.GetLevelIndex());
+
+            assertTrue(gameEngine.SelectLevel(4));
+            assertEquals(4, gameEngine.GetLevelIndex());
+            String start = gameEngine.SaveGame();
+            gameEngine.Move(Direction.LEFT);
+            assertTrue(gameEngine.SelectLevel(4));
+            assertEquals(0, gameEngine.GetMovesCountLevel());
+            assertEquals(start, gameEngine.SaveGame());
+            assertTrue(gameEngine.SelectLevel(1));
+            assertFalse(gameEngine.SelectLevel(6));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package sample.start;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class LevelReaderTest {
+
+    private static final String GAME = "moves: 3\ntotal moves: 10\ntime: 4\ntotal time: 20\nlevel index: 1\n\n"
+            + "MapSetName: Pack\n"
+            + "LevelName: one\nWWWWW\nWS CDW\nWWWWWW\n\n"
+            + "LevelName: empty\n; no rows here\n"
+            + "LevelName: two\nwwwwww\nwsc dw\nWWWWWW\n"
+            + "LevelName: three\nWWWWWW\nW SCDW\nWWWWWW\n";
+
+    private static LevelReader reader() {
+        return new LevelReader(new ByteArrayInputStream(GAME.getBytes()));
+    }
+
+    @Test
+    void testSavedValues() {
+        LevelReader reader = reader();
+        assertEquals("Pack", reader.GetMapSetName());
+        assertEquals(3, reader.GetMovesCountLevel());
+        assertEquals(10, reader.GetMovesCount());
+        assertEquals(4, reader.GetTimeLevel());
+        assertEquals(20, reader.GetTimeTotal());
+        assertEquals(1, reader.GetSavedLevelIndex());
+    }
+
+    @Test
+    void testNext() {
+        LevelReader reader = reader();
+        Level one = reader.next();
+        assertEquals("one", one.getName());
+        assertEquals(0, one.getIndex());
+        assertEquals(3, one.GetBoard().GetRows());
+
+        Level two = reader.next();
+        assertEquals("two", two.getName());
+        assertEquals(1, two.getIndex());
+        assertEquals("WWWWWW\nWSC DW\nWWWWWW\n", two.SaveLevel());
+
+        assertEquals("three", reader.next().getName());
+        assertFalse(reader.hasNext());
+        try {
+            reader.next();
+            fail();
+        } catch (NoSuchElementException e) {
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void testSkip() {
+        LevelReader reader = reader();
+        assertEquals(2, reader.Skip(2));
+        assertEquals(2, reader.GetNextIndex());
+        Level three = reader.next();
+        assertEquals("three", three.getName());
+        assertEquals(2, three.getIndex());
+        assertEquals(0, reader.Skip(5));
+    }
+
+    @Test
+    void testStream() throws FileNotFoundException {
+        LevelReader reader = new LevelReader(new FileInputStream(new File("src/main/resources/SampleGame.skb")));
+        assertEquals("Example Game!", reader.GetMapSetName());
+        assertEquals(6, reader.Stream().count());
+    }
+
+    @Test
+    void testNoLevel() {
+        LevelReader reader = new LevelReader(new ByteArrayInputStream("MapSetName: Nothing\n".getBytes()));
+        assertEquals("Nothing", reader.GetMapSetName());
+        assertFalse(reader.hasNext());
+        assertEquals(-1, reader.GetSavedLevelIndex());
+    }
+}
@@ -96,4 +96,124 @@ public class LevelTest {
         assertEquals(result, level.toString());
     }
 
+    @Test
+    void testMoveKeeper() {
+        Level level = new Level(levelName, levelIndex, raw_level);
+        assertEquals(Board.LEFT, level.moveKeeper(Board.LEFT));
+        assertEquals(new Point(2, 1), level.getKeeperPosition());
+    }
+
+    @Test
+    void testMoveKeeperPush() {
+        List<String> corridor = List.of("WWWWW", "WSCDW", "WWWWW");
+        Level level = new Level(levelName, levelIndex, corridor);
+        assertEquals(Board.RIGHT | Board.PUSH, level.moveKeeper(Board.RIGHT));
+        assertEquals("WWWWW\nW SOW\nWWWWW\n", level.SaveLevel());
+    }
+
+    @Test
+    void testMoveKeeperBlocked() {
+        Level level = new Level(levelName, levelIndex, raw_level);
+        assertEquals(Board.BLOCKED, level.moveKeeper(Board.RIGHT));
+        assertEquals(new Point(2, 2), level.getKeeperPosition());
+    }
+
+    @Test
+    void testUndoStep() {
+        Level level = new Level(levelName, levelIndex, raw_level);
+        level.undoStep(level.moveKeeper(Board.LEFT));
+        assertEquals(new Point(2, 2), level.getKeeperPosition());
+        assertEquals("WWWW\nWC W\nW SW\nWWWW\n", level.toString());
+    }
+
+    @Test
+    void testReset() {
+        List<String> rows = List.of("WWWWWWW", "WS C  W", "W  C  W", "W DD  W", "WWWWWWW");
+        Level level = new Level(levelName, levelIndex, rows);
+        Level initial = new Level(levelName, levelIndex, rows);
+        level.moveKeeper(Board.RIGHT);
+        level.moveKeeper(Board.RIGHT);
+        level.moveKeeper(Board.DOWN);
+        assertEquals(1, level.GetCratedDiamondsCount());
+
+        level.reset();
+        assertEquals(initial.SaveLevel(), level.SaveLevel());
+        assertEquals(initial.GetKeeperIndex(), level.GetKeeperIndex());
+        assertEquals(initial.GetZobristHash(), level.GetZobristHash());
+        assertEquals(0, level.GetCratedDiamondsCount());
+        assertArrayEquals(initial.getCrates(), level.getCrates());
+        assertEquals(Board.RIGHT, level.moveKeeper(Board.RIGHT));
+    }
+
+    @Test
+    void testIsComplete() {
+        List<String> corridor = List.of("WWWWW", "WSCDW", "WWWWW");
+        Level level = new Level(levelName, levelIndex, corridor);
+        assertFalse(level.isComplete());
+        int step = level.moveKeeper(Board.RIGHT);
+        assertTrue(level.isComplete());
+        level.undoStep(step);
+        assertFalse(level.isComplete());
+        assertEquals(0, level.GetCratedDiamondsCount());
+    }
+
+    @Test
+    void testZobristHashWalk() {
+        Level level = new Level(levelName, levelIndex, raw_level);
+        long hash = level.GetZobristHash();
+        level.moveKeeper(Board.UP);
+        assertEquals(hash, level.GetZobristHash());
+    }
+
+    @Test
+    void testZobristHashPush() {
+        Level level = Fixtures.corridor();
+        long hash = level.GetZobristHash();
+        int step = level.moveKeeper(Board.RIGHT);
+        assertEquals(hash, level.GetZobristHash());
+        int push = level.moveKeeper(Board.RIGHT);
+        assertNotEquals(hash, level.GetZobristHash());
+        level.undoStep(push);
+        level.undoStep(step);
+        assertEquals(hash, level.GetZobristHash());
+    }
+
+    @Test
+    void testZobristHashSameState() {
+        Level level = new Level(levelName, levelIndex, raw_level);
+        Level other = new Level(levelName, levelIndex, raw_level);
+        assertEquals(level.GetZobristHash(), other.GetZobristHash());
+    }
+
+    @Test
+    void testIsDeadSquare() {
+        Level level = new Level(levelName, levelIndex, List.of("WWWWWW", "W    W", "W SC W", "W   DW", "WWWWWW"));
+        Board board = level.GetBoard();
+        assertTrue(level.IsDeadSquare(board.IndexOf(1, 1)));
+        assertTrue(level.IsDeadSquare(board.IndexOf(1, 3)));
+        assertTrue(level.IsDeadSquare(board.IndexOf(2, 1)));
+        assertFalse(level.IsDeadSquare(board.IndexOf(2, 4)));
+        assertFalse(level.IsDeadSquare(board.IndexOf(3, 2)));
+        assertFalse(level.IsDeadSquare(board.IndexOf(0, 0)));
+    }
+
+    @Test
+    void testIsDeadPush() {
+        Level level = new Level(levelName, levelIndex, List.of("WWWWWW", "W    W", "W SC W", "W   DW", "WWWWWW"));
+        assertFalse(level.isDeadPush(Board.RIGHT));
+        level.moveKeeper(Board.DOWN);
+        level.moveKeeper(Board.RIGHT);
+        assertTrue(level.isDeadPush(Board.UP));
+    }
+
+    @Test
+    void testCheckDeadlock() {
+        Level level = new Level(levelName, levelIndex, List.of("WWWWWWW", "WD   DW", "W CC  W", "W  S OW", "WWWWWWW"));
+        int step = level.moveKeeper(Board.UP);
+        assertEquals(Deadlock.Reason.NONE, level.checkDeadlock(step));
+        level.moveKeeper(Board.DOWN);
+        level.moveKeeper(Board.LEFT);
+        assertEquals(Deadlock.Reason.FREEZE, level.checkDeadlock(level.moveKeeper(Board.UP)));
+    }
+
 }
@@ -0,0 +1,57 @@
+package sample.start;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+import static org.junit.Assert.*;
+
+public class PackLoaderTest {
+
+    @Test
+    void testLoadSampleGame() throws FileNotFoundException {
+        PackLoader loader = new PackLoader(2);
+        try {
+            PackReport report = loader.Load(new FileInputStream("src/main/resources/SampleGame.skb"));
+            assertEquals("Example Game!", report.GetMapSetName());
+            assertEquals(6, report.GetLevelCount());
+            assertTrue(report.GetProblems().toString(), report.IsValid());
+            for (int i = 0; i < report.GetLevels().size(); i++) {
+                assertEquals(i, report.GetLevels().get(i).getIndex());
+            }
+        } finally {
+            loader.Shutdown();
+        }
+    }
+
+    @Test
+    void testValidation() {
+        String pack = "MapSetName: Broken\n"
+                + "LevelName: fine\nWWWWWW\nWS CDW\nWWWWWW\n"
+                + "LevelName: ragged\nWWWWWW\nWS CDW\nWWWWW\n"
+                + "LevelName: no keeper\nWWWWWW\nW  CDW\nWWWWWW\n"
+                + "LevelName: two keepers\nWWWWWW\nWSSCDW\nWWWWWW\n"
+                + "LevelName: crates\nWWWWWW\nWSCCDW\nWWWWWW\n"
+                + "LevelName: walled\nWWWWWWW\nWSCWD W\nWWWWWWW\n";
+        PackLoader loader = new PackLoader(3);
+        try {
+            PackReport report = loader.Load(new ByteArrayInputStream(pack.getBytes()));
+            assertEquals(6, report.GetLevelCount());
+            assertFalse(report.IsValid());
+            assertEquals(1, report.GetLevels().size());
+            assertEquals("fine", report.GetLevels().get(0).getName());
+
+            assertEquals(5, report.GetProblems().size());
+            assertEquals("Level 2 (ragged): the rows are not all the same length", report.GetProblems().get(0));
+            assertEquals("Level 3 (no keeper): 0 keepers instead of 1", report.GetProblems().get(1));
+            assertEquals("Level 4 (two keepers): 2 keepers instead of 1", report.GetProblems().get(2));
+            assertEquals("Level 5 (crates): 2 crates for 1 diamonds", report.GetProblems().get(3));
+            assertEquals("Level 6 (walled): 1 diamonds the keeper cannot reach", report.GetProblems().get(4));
+            assertTrue(report.toString().startsWith("Broken: 1 of 6 levels valid"));
+        } finally {
+            loader.Shutdown();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package sample.start;
+
+import org.junit.jupiter.api.Test;
+import sample.solver.Solution;
+import sample.solver.Solver;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ReplayerTest {
+
+    private static Level twoCrates() {
+        return new Level("two crates", 0, List.of("WWWWWWW", "WS C DW", "W  C DW", "WWWWWWW"));
+    }
+
+    @Test
+    void testSolved() {
+        ReplayResult result = new Replayer(Fixtures.corridor()).Replay("rR");
+        assertTrue(result.IsLegal());
+        assertTrue(result.IsSolved());
+        assertEquals(2, result.GetMoves());
+        assertEquals(1, result.GetPushes());
+        assertEquals(9, result.GetKeeper());
+        assertArrayEquals(new int[] {10}, result.GetCrates());
+        assertEquals("Solved in 2 moves and 1 pushes", result.toString());
+    }
+
+    @Test
+    void testNotSolved() {
+        ReplayResult result = new Replayer(Fixtures.corridor()).Replay("r l\nr");
+        assertTrue(result.IsLegal());
+        assertFalse(result.IsSolved());
+        assertEquals(3, result.GetMoves());
+        assertEquals(0, result.GetPushes());
+    }
+
+    @Test
+    void testIllegal() {
+        Replayer replayer = new Replayer(Fixtures.corridor());
+
+        ReplayResult result = replayer.Replay("R");
+        assertFalse(result.IsLegal());
+        assertEquals(0, result.GetErrorIndex());
+        assertEquals("'R' pushes no crate", result.GetError());
+
+        result = replayer.Replay("rr");
+        assertFalse(result.IsSolved());
+        assertEquals(1, result.GetErrorIndex());
+        assertEquals("'r' pushes a crate", result.GetError());
+        assertEquals(8, result.GetKeeper());
+        assertArrayEquals(new int[] {9}, result.GetCrates());
+
+        result = replayer.Replay("u");
+        assertEquals("the keeper cannot go up", result.GetError());
+
+        result = replayer.Replay("rx");
+        assertEquals(1, result.GetErrorIndex());
+        assertEquals(1, result.GetMoves());
+    }
+
+    @Test
+    void testReplayFromStart() {
+        Replayer replayer = new Replayer(Fixtures.corridor());
+        assertTrue(replayer.Replay("rR").IsSolved());
+        assertTrue(replayer.Replay("rR").IsSolved());
+        assertFalse(replayer.Replay("R").IsLegal());
+        assertTrue(replayer.Replay("rR").IsSolved());
+    }
+
+    @Test
+    void testTwoCrates() {
+        Replayer replayer = new Replayer(twoCrates());
+        ReplayResult result = replayer.Replay("rRRlldRR");
+        assertTrue(result.IsSolved());
+        assertEquals(8, result.GetMoves());
+        assertEquals(4, result.GetPushes());
+        assertArrayEquals(new int[] {12, 19}, result.GetCrates());
+
+        result = replayer.Replay("rRRlldR");
+        assertTrue(result.IsLegal());
+        assertFalse(result.IsSolved());
+        assertArrayEquals(new int[] {12, 18}, result.GetCrates());
+
+        result = replayer.Replay("rRrlldRR");
+        assertEquals(2, result.GetErrorIndex());
+        assertEquals("'r' pushes a crate", result.GetError());
+        assertEquals(10, result.GetKeeper());
+        assertArrayEquals(new int[] {11, 17}, result.GetCrates());
+
+        result = replayer.Replay("rRRllDRR");
+        assertEquals(5, result.GetErrorIndex());
+        assertEquals("'D' pushes no crate", result.GetError());
+        assertEquals(9, result.GetKeeper());
+        assertArrayEquals(new int[] {12, 17}, result.GetCrates());
+
+        result = replayer.Replay("");
+        assertFalse(result.IsSolved());
+        assertEquals(0, result.GetMoves());
+        assertEquals(8, result.GetKeeper());
+        assertArrayEquals(new int[] {10, 17}, result.GetCrates());
+        assertTrue(replayer.Replay("rRRlldRR").IsSolved());
+    }
+
+    @Test
+    void testSolverSolution() {
+        List<String> rows = List.of("WWWWWW", "WS   W", "W C  W", "W   DW", "WWWWWW");
+        Solution solution = new Solver().Solve(new Level("turn", 0, rows), Solver.Mode.MOVES);
+        ReplayResult result = new Replayer(new Level("turn", 0, rows)).Replay(solution.GetMoves());
+        assertTrue(result.IsSolved());
+        assertEquals(solution.GetMoveCount(), result.GetMoves());
+        assertEquals(solution.GetPushCount(), result.GetPushes());
+    }
+}
@@ -0,0 +1,190 @@
+package sample.start;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+public class ScoreStoreTest {
+
+    private static final Executor WRITER = Runnable::run;
+
+    @AfterEach
+    void deleteTempFolders() throws IOException {
+        Fixtures.deleteTempFolders();
+    }
+
+    @Test
+    void testKeys() throws IOException {
+        ScoreStore store = new ScoreStore(Fixtures.tempFile("scores", "scores.skhs"), WRITER);
+        long pack = ScoreStore.PackHash("Example Game!");
+        long other = ScoreStore.PackHash("Other");
+        assertNotEquals(pack, other);
+
+        store.GetEntry(pack, 0).AddScore("a", 10, 10);
+        store.GetEntry(pack, ScoreStore.GAME).AddScore("b", 20, 20);
+        store.GetEntry(other, 0).AddScore("c", 30, 30);
+
+        assertSame(store.GetEntry(pack, 0), store.GetEntry(pack, 0));
+        assertEquals("a", store.GetEntry(pack, 0).GetBoard().GetTop(1).get(0).GetName());
+        assertEquals("b", store.GetEntry(pack, ScoreStore.GAME).GetBoard().GetTop(1).get(0).GetName());
+        assertEquals("c", store.GetEntry(other, 0).GetBoard().GetTop(1).get(0).GetName());
+        assertFalse(store.HasEntry(other, 1));
+        assertEquals(3, store.GetEntryCount());
+    }
+
+    @Test
+    void testManyLevels() throws IOException {
+        File file = Fixtures.tempFile("scores", "scores.skhs");
+        ScoreStore store = new ScoreStore(file, WRITER);
+        long pack = ScoreStore.PackHash("Big pack");
+        for (int level = 0; level < 20000; level++) {
+            store.GetEntry(pack, level).AddScore("player", level, level % 7);
+        }
+        store.Save().join();
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+
+        ScoreStore loaded = new ScoreStore(file, WRITER);
+        assertEquals(20000, loaded.GetEntryCount());
+        assertEquals(12345, loaded.GetEntry(pack, 12345).GetBoard().GetTop(1).get(0).GetTime());
+        assertEquals(12345 % 7, loaded.GetEntry(pack, 12345).GetBoard().GetTop(1).get(0).GetMoves());
+    }
+
+    @Test
+    void testLevel() throws IOException {
+        File file = Fixtures.tempFile("scores", "scores.skhs");
+        GameEngine gameEngine = new GameEngine(new FileInputStream("src/main/resources/SampleGame.skb"));
+        Level level = gameEngine.GetCurrentLevel();
+        ScoreStore store = new ScoreStore(file, WRITER);
+        long pack = ScoreStore.PackHash(gameEngine.GetMapSetName());
+        store.GetEntry(pack, level.getIndex()).SetLevel(level);
+        store.GetEntry(pack, level.getIndex()).AddScore("tie", 5, 5);
+        store.GetEntry(pack, level.getIndex()).AddScore("tie again", 5, 5);
+        store.Save().join();
+
+        ScoreStore.Entry entry = new ScoreStore(file, WRITER).GetEntry(pack, level.getIndex());
+        assertEquals(level.getName(), entry.GetName());
+        assertEquals(level.getLayoutHash(), entry.GetLayoutHash());
+        assertEquals("tie", entry.GetBoard().GetTop(2).get(0).GetName());
+        assertEquals("tie again", entry.GetBoard().GetTop(2).get(1).GetName());
+    }
+
+    @Test
+    void testAppend() throws IOException {
+        File file = Fixtures.tempFile("scores", "scores.skhs");
+        ScoreStore store = new ScoreStore(file, WRITER);
+        long pack = ScoreStore.PackHash("Example Game!");
+        store.GetEntry(pack, 0).AddScore("first", 10, 10);
+        store.Save().join();
+        byte[] before = Files.readAllBytes(file.toPath());
+
+        store.GetEntry(pack, 1).AddScore("later", 20, 20);
+        store.Save().join();
+        byte[] after = Files.readAllBytes(file.toPath());
+        assertEquals(before.length * 2 - 5, after.length);
+        assertArrayEquals(before, Arrays.copyOf(after, before.length));
+
+        ScoreStore loaded = new ScoreStore(file, WRITER);
+        assertEquals("first", loaded.GetEntry(pack, 0).GetBoard().GetTop(1).get(0).GetName());
+        assertEquals("later", loaded.GetEntry(pack, 1).GetBoard().GetTop(1).get(0).GetName());
+        assertEquals(2, loaded.getRecordCount());
+    }
+
+    @Test
+    void testCoalescedSave() throws IOException {
+        File file = Fixtures.tempFile("scores", "scores.skhs");
+        List<Runnable> writes = new ArrayList<>();
+        ScoreStore store = new ScoreStore(file, writes::add);
+        long pack = ScoreStore.PackHash("Example Game!");
+
+        store.GetEntry(pack, 0).AddScore("first", 10, 10);
+        CompletableFuture<Void> save = store.Save();
+        store.GetEntry(pack, 0).AddScore("second", 20, 20);
+        assertSame(save, store.Save());
+        assertEquals(1, writes.size());
+        assertFalse(save.isDone());
+
+        writes.get(0).run();
+        assertTrue(save.isDone());
+        assertEquals(2, new ScoreStore(file, WRITER).GetEntry(pack, 0).GetBoard().GetSize());
+        assertNotSame(save, store.Save());
+        assertEquals(2, writes.size());
+    }
+
+    @Test
+    void testTruncatedRecord() throws IOException {
+        File file = Fixtures.tempFile("scores", "scores.skhs");
+        ScoreStore store = new ScoreStore(file, WRITER);
+        long pack = ScoreStore.PackHash("Example Game!");
+        store.GetEntry(pack, 0).AddScore("kept", 10, 10);
+        store.GetEntry(pack, 0).AddScore("cut", 20, 20);
+        store.Save().join();
+        try (RandomAccessFile log = new RandomAccessFile(file, "rw")) {
+            log.setLength(log.length() - 3);
+        }
+
+        ScoreStore loaded = new ScoreStore(file, WRITER);
+        assertEquals(1, loaded.GetEntry(pack, 0).GetBoard().GetSize());
+        loaded.GetEntry(pack, 0).AddScore("after", 30, 30);
+        loaded.Save().join();
+
+        List<HighScoreBoard.Score> top = new ScoreStore(file, WRITER).GetEntry(pack, 0).GetBoard().GetTop(10);
+        assertEquals(2, top.size());
+        assertEquals("kept", top.get(0).GetName());
+        assertEquals("after", top.get(1).GetName());
+    }
+
+    @Test
+    void testCompact() throws IOException {
+        File file = Fixtures.tempFile("scores", "scores.skhs");
+        ScoreStore store = new ScoreStore(file, WRITER);
+        long pack = ScoreStore.PackHash("Example Game!");
+        Level[] levels = {
+                new Level("even", 0, Fixtures.CORRIDOR),
+                new Level("odd", 0, List.of("WWWWWWW", "WS  CDW", "WWWWWWW"))
+        };
+        store.GetEntry(pack, 0).AddScore("tie", 10, 10);
+        store.GetEntry(pack, 0).AddScore("tie again", 10, 10);
+        for (int i = 0; i < 601; i++) {
+            store.GetEntry(pack, 0).SetLevel(levels[i % 2]);
+            store.GetEntry(pack, 0).SetLevel(levels[i % 2]);
+        }
+        assertEquals(603, store.getRecordCount());
+
+        store.Save().join();
+        assertEquals(3, store.getRecordCount());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+        ScoreStore.Entry entry = new ScoreStore(file, WRITER).GetEntry(pack, 0);
+        assertEquals("even", entry.GetName());
+        assertEquals(levels[0].getLayoutHash(), entry.GetLayoutHash());
+        assertEquals("tie", entry.GetBoard().GetTop(2).get(0).GetName());
+        assertEquals("tie again", entry.GetBoard().GetTop(2).get(1).GetName());
+
+        store.GetEntry(pack, 0).AddScore("after", 5, 5);
+        store.Save().join();
+        assertEquals("after", new ScoreStore(file, WRITER).GetEntry(pack, 0).GetBoard().GetTop(1).get(0).GetName());
+    }
+
+    @Test
+    void testBadFile() throws IOException {
+        File file = Fixtures.tempFile("scores", "scores.skhs");
+        Files.write(file.toPath(), "Name: old list\n".getBytes());
+        try {
+            new ScoreStore(file, WRITER);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("is not a score store"));
+        }
+    }
+}
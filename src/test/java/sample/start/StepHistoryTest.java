@@ -0,0 +1,70 @@
+package sample.start;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.Assert.*;
+
+public class StepHistoryTest {
+
+    @Test
+    void testUndoRedo() {
+        StepHistory history = new StepHistory();
+        assertEquals(Board.BLOCKED, history.Undo());
+        for (int step = 0; step < 8; step++) {
+            history.Push(step);
+        }
+        assertEquals(7, history.Undo());
+        assertEquals(6, history.Undo());
+        assertTrue(history.CanRedo());
+        assertEquals(6, history.Redo());
+        assertEquals(7, history.Redo());
+        assertEquals(Board.BLOCKED, history.Redo());
+
+        history.Undo();
+        history.Push(Board.LEFT | Board.PUSH);
+        assertFalse(history.CanRedo());
+        assertEquals(8, history.GetSize());
+        assertEquals(Board.LEFT | Board.PUSH, history.Undo());
+    }
+
+    @Test
+    void testDropRedo() {
+        StepHistory history = new StepHistory();
+        history.Push(Board.RIGHT);
+        history.Push(Board.RIGHT | Board.PUSH);
+        history.Push(Board.DOWN);
+        history.Undo();
+        history.Undo();
+        assertEquals(Board.RIGHT | Board.PUSH, history.Redo());
+        history.DropRedo();
+        assertEquals(1, history.GetSize());
+        assertFalse(history.CanRedo());
+        assertEquals(Board.BLOCKED, history.Redo());
+    }
+
+    @Test
+    void testMillionSteps() {
+        StepHistory history = new StepHistory();
+        for (int i = 0; i < 1000000; i++) {
+            history.Push(i % 8);
+        }
+        assertEquals(1000000, history.GetSize());
+        assertEquals(999999 % 8, history.Undo());
+        assertEquals(123456 % 8, history.get(123456));
+        assertEquals(21 % 8, history.get(21));
+        assertEquals(20 % 8, history.get(20));
+    }
+
+    @Test
+    void testFill() {
+        int[] steps = new int[100];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = (i * 5) % 8;
+        }
+        StepHistory history = new StepHistory();
+        history.Push(3);
+        history.Fill(steps);
+        assertArrayEquals(steps, history.ToArray());
+        assertFalse(history.CanRedo());
+    }
+}
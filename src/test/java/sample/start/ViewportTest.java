@@ -0,0 +1,62 @@
+package sample.start;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.Assert.*;
+
+public class ViewportTest {
+
+    @Test
+    void testResetSmallBoard() {
+        Board board = new Board(5, 6);
+        Viewport viewport = new Viewport(16, 24, 3);
+        viewport.Reset(board, board.IndexOf(2, 3));
+        assertEquals(5, viewport.GetRows());
+        assertEquals(6, viewport.GetColumns());
+        assertEquals(0, viewport.GetTop());
+        assertEquals(0, viewport.GetLeft());
+        assertFalse(viewport.Follow(board.IndexOf(4, 5)));
+    }
+
+    @Test
+    void testResetCentresKeeper() {
+        Board board = new Board(100, 100);
+        Viewport viewport = new Viewport(10, 20, 2);
+        viewport.Reset(board, board.IndexOf(50, 50));
+        assertEquals(45, viewport.GetTop());
+        assertEquals(40, viewport.GetLeft());
+
+        viewport.Reset(board, board.IndexOf(98, 1));
+        assertEquals(90, viewport.GetTop());
+        assertEquals(0, viewport.GetLeft());
+    }
+
+    @Test
+    void testFollow() {
+        Board board = new Board(100, 100);
+        Viewport viewport = new Viewport(10, 10, 2);
+        viewport.Reset(board, board.IndexOf(50, 50));
+        assertEquals(45, viewport.GetTop());
+        assertFalse(viewport.Follow(board.IndexOf(52, 50)));
+        assertTrue(viewport.Follow(board.IndexOf(53, 50)));
+        assertEquals(46, viewport.GetTop());
+        assertTrue(viewport.Follow(board.IndexOf(53, 46)));
+        assertEquals(44, viewport.GetLeft());
+        assertTrue(viewport.Follow(board.IndexOf(0, 0)));
+        assertEquals(0, viewport.GetTop());
+        assertEquals(0, viewport.GetLeft());
+    }
+
+    @Test
+    void testCells() {
+        Board board = new Board(100, 100);
+        Viewport viewport = new Viewport(10, 10, 2);
+        viewport.Reset(board, board.IndexOf(50, 50));
+        int cell = board.IndexOf(46, 47);
+        assertTrue(viewport.Contains(cell));
+        assertEquals(cell, viewport.CellAt(1, 2));
+        assertEquals(12, viewport.ViewIndexOf(cell));
+        assertFalse(viewport.Contains(board.IndexOf(44, 47)));
+        assertFalse(viewport.Contains(board.IndexOf(46, 55)));
+    }
+}